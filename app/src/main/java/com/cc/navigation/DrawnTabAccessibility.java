@@ -0,0 +1,215 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityManager;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeProvider;
+
+/**
+ * Exposes the titles of the drawn tab mode, which have no views, to accessibility services
+ * as one virtual view per tab.
+ * <p>
+ * Each tab is a clickable, selectable node with its title as text and its bounds taken from
+ * the strip's {@link TabPositions}; touch exploration hovers over the tabs like it would over
+ * real views, and clicking a node selects its page.
+ */
+final class DrawnTabAccessibility extends AccessibilityNodeProvider {
+
+    /**
+     * AccessibilityNodeProvider.HOST_VIEW_ID，API 19 才有这个常量
+     */
+    private static final int HOST_ID = View.NO_ID;
+    private static final int NO_TAB = Integer.MIN_VALUE;
+    /**
+     * 读屏按按钮读tab
+     */
+    private static final String TAB_CLASS_NAME = "android.widget.Button";
+
+    interface Host {
+        int getTabCount();
+
+        String getTitle(int position);
+
+        boolean isSelected(int position);
+
+        /**
+         * Bounds of the tab in the strip's own coordinates, scroll already subtracted.
+         */
+        void getTabBounds(int position, Rect out);
+
+        /**
+         * The tab under {@code x} in the strip's own coordinates, -1 if none.
+         */
+        int getTabAt(float x);
+
+        void clickTab(int position);
+    }
+
+    private final View view;
+    private final Host host;
+    private final AccessibilityManager manager;
+
+    private final Rect bounds = new Rect();
+    private final Rect visible = new Rect();
+    private final int[] location = new int[2];
+
+    private int focusedTab = NO_TAB;
+    private int hoveredTab = NO_TAB;
+
+    DrawnTabAccessibility(View view, Host host) {
+        this.view = view;
+        this.host = host;
+        manager = (AccessibilityManager) view.getContext().getSystemService(
+                Context.ACCESSIBILITY_SERVICE);
+    }
+
+    @Override
+    public AccessibilityNodeInfo createAccessibilityNodeInfo(int virtualViewId) {
+        if (virtualViewId == HOST_ID) {
+            AccessibilityNodeInfo info = AccessibilityNodeInfo.obtain(view);
+            view.onInitializeAccessibilityNodeInfo(info);
+            int count = host.getTabCount();
+            for (int i = 0; i < count; i++) {
+                info.addChild(view, i);
+            }
+            return info;
+        }
+        if (virtualViewId < 0 || virtualViewId >= host.getTabCount()) {
+            return null;
+        }
+        AccessibilityNodeInfo info = AccessibilityNodeInfo.obtain(view, virtualViewId);
+        info.setParent(view);
+        info.setPackageName(view.getContext().getPackageName());
+        info.setClassName(TAB_CLASS_NAME);
+        info.setText(host.getTitle(virtualViewId));
+        info.setEnabled(view.isEnabled());
+        info.setFocusable(true);
+        info.setClickable(true);
+        info.setSelected(host.isSelected(virtualViewId));
+        info.addAction(AccessibilityNodeInfo.ACTION_CLICK);
+        info.addAction(AccessibilityNodeInfo.ACTION_SELECT);
+        if (focusedTab == virtualViewId) {
+            info.setAccessibilityFocused(true);
+            info.addAction(AccessibilityNodeInfo.ACTION_CLEAR_ACCESSIBILITY_FOCUS);
+        } else {
+            info.addAction(AccessibilityNodeInfo.ACTION_ACCESSIBILITY_FOCUS);
+        }
+
+        host.getTabBounds(virtualViewId, bounds);
+        info.setBoundsInParent(bounds);
+        info.setVisibleToUser(view.getLocalVisibleRect(visible) && Rect.intersects(bounds, visible));
+        view.getLocationOnScreen(location);
+        bounds.offset(location[0], location[1]);
+        info.setBoundsInScreen(bounds);
+        return info;
+    }
+
+    @Override
+    public boolean performAction(int virtualViewId, int action, Bundle arguments) {
+        if (virtualViewId == HOST_ID) {
+            return view.performAccessibilityAction(action, arguments);
+        }
+        if (virtualViewId < 0 || virtualViewId >= host.getTabCount()) {
+            return false;
+        }
+        switch (action) {
+            case AccessibilityNodeInfo.ACTION_CLICK:
+            case AccessibilityNodeInfo.ACTION_SELECT:
+                host.clickTab(virtualViewId);
+                sendEvent(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+                return true;
+            case AccessibilityNodeInfo.ACTION_ACCESSIBILITY_FOCUS:
+                if (focusedTab == virtualViewId) {
+                    return false;
+                }
+                if (focusedTab != NO_TAB) {
+                    sendEvent(focusedTab, AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUS_CLEARED);
+                }
+                focusedTab = virtualViewId;
+                view.invalidate();
+                sendEvent(virtualViewId, AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUSED);
+                return true;
+            case AccessibilityNodeInfo.ACTION_CLEAR_ACCESSIBILITY_FOCUS:
+                if (focusedTab != virtualViewId) {
+                    return false;
+                }
+                focusedTab = NO_TAB;
+                view.invalidate();
+                sendEvent(virtualViewId, AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUS_CLEARED);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Moves the hovered tab while touch exploring, the strip's {@code dispatchHoverEvent}
+     * falls back to its own handling when this returns false.
+     */
+    boolean dispatchHoverEvent(MotionEvent event) {
+        if (manager == null || !manager.isEnabled() || !manager.isTouchExplorationEnabled()) {
+            return false;
+        }
+        switch (event.getAction()) {
+            case MotionEvent.ACTION_HOVER_ENTER:
+            case MotionEvent.ACTION_HOVER_MOVE:
+                int tab = host.getTabAt(event.getX());
+                setHoveredTab(tab < 0 ? NO_TAB : tab);
+                return tab >= 0;
+            case MotionEvent.ACTION_HOVER_EXIT:
+                if (hoveredTab == NO_TAB) {
+                    return false;
+                }
+                setHoveredTab(NO_TAB);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void setHoveredTab(int tab) {
+        if (hoveredTab == tab) {
+            return;
+        }
+        int previous = hoveredTab;
+        hoveredTab = tab;
+        // 先进入新的再离开旧的，和 View 之间移动时的顺序一样
+        if (tab != NO_TAB) {
+            sendEvent(tab, AccessibilityEvent.TYPE_VIEW_HOVER_ENTER);
+        }
+        if (previous != NO_TAB) {
+            sendEvent(previous, AccessibilityEvent.TYPE_VIEW_HOVER_EXIT);
+        }
+    }
+
+    /**
+     * The tab count changed, virtual view ids from before may no longer exist.
+     */
+    void reset() {
+        focusedTab = NO_TAB;
+        hoveredTab = NO_TAB;
+    }
+
+    void sendEvent(int position, int eventType) {
+        if (manager == null || !manager.isEnabled()) {
+            return;
+        }
+        ViewParent parent = view.getParent();
+        if (parent == null) {
+            return;
+        }
+        AccessibilityEvent event = AccessibilityEvent.obtain(eventType);
+        event.setPackageName(view.getContext().getPackageName());
+        event.setClassName(TAB_CLASS_NAME);
+        event.setSource(view, position);
+        event.setEnabled(view.isEnabled());
+        event.getText().add(host.getTitle(position));
+        parent.requestSendAccessibilityEvent(view, event);
+    }
+}
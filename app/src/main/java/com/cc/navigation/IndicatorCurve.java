@@ -0,0 +1,65 @@
+package com.cc.navigation;
+
+/**
+ * How the indicator edges travel from the current tab to the next one.
+ * <p>
+ * Both edges are given as the fraction of the distance between the two tab centers they
+ * have moved at a page offset in [0, 1]. A curve is only evaluated when the strip samples
+ * it into its lookup tables, after it is set and after the tab layout changed, so it may be
+ * slow, but it must be a pure function of its arguments.
+ */
+public interface IndicatorCurve {
+
+    /**
+     * @param stretch flex length / 2 / distance between the tab centers
+     */
+    float left(float offset, float stretch);
+
+    float right(float offset, float stretch);
+
+    /**
+     * Both edges follow the offset, the indicator keeps its width.
+     */
+    IndicatorCurve LINEAR = new IndicatorCurve() {
+        @Override
+        public float left(float offset, float stretch) {
+            return offset;
+        }
+
+        @Override
+        public float right(float offset, float stretch) {
+            return offset;
+        }
+    };
+
+    /**
+     * The right edge runs ahead while leaving the current tab, both move together in the
+     * middle and the left edge catches up when reaching the next tab.
+     */
+    IndicatorCurve THREE_PHASE = new IndicatorCurve() {
+        /**
+         * 0 < x < stretch 时 left = 0.4 * x, right = 1.6 * x;
+         * stretch <= x < 1 - stretch 时 left = x - 0.6 * stretch, right = x + 0.6 * stretch;
+         * 1 - stretch <= x <= 1 时 left = 1.6 * x - 0.6, right = 0.4 * x + 0.6
+         */
+        @Override
+        public float left(float offset, float stretch) {
+            if (offset < stretch) {
+                return 0.4f * offset;
+            } else if (offset >= 1 - stretch) {
+                return 1.6f * offset - 0.6f;
+            }
+            return offset - 0.6f * stretch;
+        }
+
+        @Override
+        public float right(float offset, float stretch) {
+            if (offset < stretch) {
+                return 1.6f * offset;
+            } else if (offset >= 1 - stretch) {
+                return 0.4f * offset + 0.6f;
+            }
+            return offset + 0.6f * stretch;
+        }
+    };
+}
@@ -0,0 +1,321 @@
+package com.cc.navigation;
+
+import java.util.Arrays;
+
+/**
+ * Computes the left/right edges of the tab indicator for a given scroll state.
+ * <p>
+ * Pure Java, no Android dependencies, so it can be shared by both tab strips and
+ * exercised from plain JVM tests and benchmarks. All coordinates are relative to
+ * the tabs container; callers add their own padding when drawing.
+ * <p>
+ * The flex curve is sampled into lookup tables when it or the flex settings change and,
+ * for a fixed flex length, when the tab layout changes ({@link #sampleCurves()}); a frame
+ * only reads the table of its pair of tabs.
+ */
+final class IndicatorGeometry {
+
+    /**
+     * Fixed indicator width in px, {@code <= 0} means follow the tab width.
+     */
+    private int indicatorWidth;
+    /**
+     * Indicator spans the whole tab (minus {@link #tabPadding} on both sides).
+     */
+    private boolean dividerExpand;
+    /**
+     * Stretch the indicator while scrolling between two tabs.
+     */
+    private boolean dividerNeedFlex;
+    /**
+     * Stretch length, {@code <= 0} means the distance between the two tab centers.
+     */
+    private float dividerFlexLength;
+    private int tabPadding;
+
+    /**
+     * Curve used while {@link #dividerNeedFlex}, sampled into the tables below.
+     */
+    private IndicatorCurve flexCurve = IndicatorCurve.THREE_PHASE;
+
+    /**
+     * Tabs whose neighbouring pairs the tables are sampled for, {@code null} until set.
+     */
+    private TabPositions positions;
+
+    /**
+     * 曲线的采样表，每个不同的 stretch 一张，按 stretch 从小到大排；stretch 跟两个tab的距离有关，
+     * 固定伸缩长度时在布局后按每对相邻tab采样，默认伸缩长度时所有tab都是同一张
+     */
+    private static final int TABLE_SAMPLES = 256;
+    private static final float DEFAULT_STRETCH = 0.5f;
+    private float[] tableStretches = new float[0];
+    private int tableCount;
+    private float[] leftTables = new float[0];
+    private float[] rightTables = new float[0];
+    private float[] pairStretches = new float[0];
+
+    private float left;
+    private float right;
+
+    void setIndicatorWidth(int indicatorWidth) {
+        this.indicatorWidth = indicatorWidth;
+    }
+
+    int getIndicatorWidth() {
+        return indicatorWidth;
+    }
+
+    void setDividerExpand(boolean dividerExpand) {
+        this.dividerExpand = dividerExpand;
+    }
+
+    boolean isDividerExpand() {
+        return dividerExpand;
+    }
+
+    void setDividerNeedFlex(boolean dividerNeedFlex) {
+        this.dividerNeedFlex = dividerNeedFlex;
+        resampleCurves();
+    }
+
+    boolean isDividerNeedFlex() {
+        return dividerNeedFlex;
+    }
+
+    /**
+     * Curve the edges follow when {@link #setDividerNeedFlex(boolean) flex} is on,
+     * {@link IndicatorCurve#THREE_PHASE} by default.
+     */
+    void setFlexCurve(IndicatorCurve flexCurve) {
+        this.flexCurve = flexCurve;
+        resampleCurves();
+    }
+
+    IndicatorCurve getFlexCurve() {
+        return flexCurve;
+    }
+
+    void setDividerFlexLength(float dividerFlexLength) {
+        this.dividerFlexLength = dividerFlexLength;
+        resampleCurves();
+    }
+
+    float getDividerFlexLength() {
+        return dividerFlexLength;
+    }
+
+    void setTabPadding(int tabPadding) {
+        this.tabPadding = tabPadding;
+    }
+
+    /**
+     * The tabs whose pairs {@link #sampleCurves()} samples the flex curve for.
+     */
+    void setTabPositions(TabPositions positions) {
+        this.positions = positions;
+        resampleCurves();
+    }
+
+    /**
+     * Samples the flex curve for every stretch the current tab layout needs, call after
+     * the tab positions changed. Tables that are already sampled are kept.
+     */
+    void sampleCurves() {
+        int stretches = collectStretches();
+        if (stretches == tableCount && rangeEquals(pairStretches, tableStretches, stretches)) {
+            return;
+        }
+        sampleTables(stretches);
+    }
+
+    /**
+     * The curve or the flex settings changed, every table is sampled again.
+     */
+    private void resampleCurves() {
+        sampleTables(collectStretches());
+    }
+
+    /**
+     * Sorted distinct stretches of the current layout into {@link #pairStretches}.
+     *
+     * @return how many there are
+     */
+    private int collectStretches() {
+        if (!dividerNeedFlex) {
+            return 0;
+        }
+        if (dividerFlexLength <= 0) {
+            ensurePairStretches(1);
+            pairStretches[0] = DEFAULT_STRETCH;
+            return 1;
+        }
+        int pairs = positions == null ? 0 : Math.max(0, positions.getCount() - 1);
+        ensurePairStretches(pairs);
+        for (int i = 0; i < pairs; i++) {
+            pairStretches[i] = stretch(positions.getLeft(i), positions.getRight(i),
+                    positions.getLeft(i + 1), positions.getRight(i + 1));
+        }
+        Arrays.sort(pairStretches, 0, pairs);
+        int count = 0;
+        for (int i = 0; i < pairs; i++) {
+            if (count == 0 || pairStretches[count - 1] != pairStretches[i]) {
+                pairStretches[count++] = pairStretches[i];
+            }
+        }
+        return count;
+    }
+
+    private void ensurePairStretches(int count) {
+        if (pairStretches.length < count) {
+            pairStretches = new float[count];
+        }
+    }
+
+    private void sampleTables(int count) {
+        if (tableStretches.length < count) {
+            tableStretches = new float[count];
+            leftTables = new float[count * (TABLE_SAMPLES + 1)];
+            rightTables = new float[count * (TABLE_SAMPLES + 1)];
+        }
+        System.arraycopy(pairStretches, 0, tableStretches, 0, count);
+        tableCount = count;
+        for (int t = 0; t < count; t++) {
+            float stretch = tableStretches[t];
+            int base = t * (TABLE_SAMPLES + 1);
+            for (int i = 0; i <= TABLE_SAMPLES; i++) {
+                float offset = (float) i / TABLE_SAMPLES;
+                leftTables[base + i] = flexCurve.left(offset, stretch);
+                rightTables[base + i] = flexCurve.right(offset, stretch);
+            }
+        }
+    }
+
+    private static boolean rangeEquals(float[] a, float[] b, int count) {
+        for (int i = 0; i < count; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The same arithmetic as a frame, so a frame finds its table by exact comparison.
+     */
+    private float stretch(float currentLeft, float currentRight, float nextLeft, float nextRight) {
+        if (dividerFlexLength <= 0) {
+            return DEFAULT_STRETCH;
+        }
+        float length = nextLeft < currentLeft
+                ? centerDistance(-currentRight, -currentLeft, -nextRight, -nextLeft)
+                : centerDistance(currentLeft, currentRight, nextLeft, nextRight);
+        return dividerFlexLength / 2 / length;
+    }
+
+    private static float centerDistance(float currentLeft, float currentRight, float nextLeft, float nextRight) {
+        //每个item的中间值
+        float currentM = currentLeft + (currentRight - currentLeft) / 2;
+        float nextM = nextLeft + (nextRight - nextLeft) / 2;
+        return nextM - currentM;
+    }
+
+    /**
+     * Indicator for the last tab, or any tab without a right neighbour.
+     */
+    void compute(float currentLeft, float currentRight) {
+        float width = currentRight - currentLeft;
+        float currentM = currentLeft + width / 2;
+        float localIndicatorWidth = width;
+        if (indicatorWidth > 0 && !dividerExpand) {
+            localIndicatorWidth = indicatorWidth;
+        }
+        left = currentM - localIndicatorWidth / 2.f;
+        right = left + localIndicatorWidth;
+        applyExpandInset();
+    }
+
+    /**
+     * Indicator while moving from the current tab to the next one, which may be on
+     * either side of it.
+     *
+     * @param offset page offset in [0, 1)
+     */
+    void compute(float currentLeft, float currentRight,
+                 float nextLeft, float nextRight, float offset) {
+        if (nextLeft < currentLeft) {
+            // 从右往左排的tab：镜像成往右移动再算，算完翻回来
+            computeForward(-currentRight, -currentLeft, -nextRight, -nextLeft, offset);
+            float mirroredLeft = left;
+            left = -right;
+            right = -mirroredLeft;
+        } else {
+            computeForward(currentLeft, currentRight, nextLeft, nextRight, offset);
+        }
+    }
+
+    private void computeForward(float currentLeft, float currentRight,
+                                float nextLeft, float nextRight, float offset) {
+        float width = currentRight - currentLeft;
+        float currentM = currentLeft + width / 2;
+        //当前item的中间值距离下一个item的中间值
+        float length = centerDistance(currentLeft, currentRight, nextLeft, nextRight);
+
+        float localIndicatorWidth;
+        if (indicatorWidth <= 0 || dividerExpand) {
+            localIndicatorWidth = (int) length;
+        } else {
+            localIndicatorWidth = indicatorWidth;
+        }
+
+        if (offset > 0f) {
+            float leftTravel = offset;
+            float rightTravel = offset;
+            if (dividerNeedFlex) {
+                float stretch = dividerFlexLength <= 0 ? DEFAULT_STRETCH : dividerFlexLength / 2 / length;
+                int table = Arrays.binarySearch(tableStretches, 0, tableCount, stretch);
+                if (table >= 0) {
+                    int base = table * (TABLE_SAMPLES + 1);
+                    float index = offset * TABLE_SAMPLES;
+                    int i = (int) index;
+                    if (i >= TABLE_SAMPLES) {
+                        i = TABLE_SAMPLES - 1;
+                    }
+                    float fraction = index - i;
+                    leftTravel = leftTables[base + i] + (leftTables[base + i + 1] - leftTables[base + i]) * fraction;
+                    rightTravel = rightTables[base + i] + (rightTables[base + i + 1] - rightTables[base + i]) * fraction;
+                } else {
+                    // 布局后还没采样过的两个tab（比如没有 setTabPositions），直接算曲线
+                    leftTravel = flexCurve.left(offset, stretch);
+                    rightTravel = flexCurve.right(offset, stretch);
+                }
+            }
+
+            left = currentM + leftTravel * length - localIndicatorWidth / 2.f;
+            right = currentM + rightTravel * length + localIndicatorWidth / 2.f;
+        } else {
+            if (dividerExpand) {
+                localIndicatorWidth = (int) width;
+            }
+            left = currentM - localIndicatorWidth / 2.f;
+            right = left + localIndicatorWidth;
+        }
+        applyExpandInset();
+    }
+
+    private void applyExpandInset() {
+        if (dividerExpand) {
+            left += tabPadding;
+            right -= tabPadding;
+        }
+    }
+
+    float getLeft() {
+        return left;
+    }
+
+    float getRight() {
+        return right;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.cc.navigation;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * Draws the rounded indicator bar with one reused paint and rect, so a frame allocates nothing.
+ */
+final class IndicatorRenderer {
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF rect = new RectF();
+    private float corner;
+
+    IndicatorRenderer() {
+        paint.setStyle(Paint.Style.FILL);
+    }
+
+    void setColor(int color) {
+        paint.setColor(color);
+    }
+
+    void setCorner(float corner) {
+        this.corner = corner;
+    }
+
+    void draw(Canvas canvas, float left, float top, float right, float bottom) {
+        rect.set(left, top, right, bottom);
+        canvas.drawRoundRect(rect, corner, corner, paint);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.cc.navigation;
+
+import android.view.animation.Interpolator;
+
+/**
+ * {@link IndicatorCurve} whose edges follow two {@link Interpolator}s, e.g. an accelerating
+ * left edge and a decelerating right edge for a stretch effect. The flex length is ignored.
+ */
+final class InterpolatorCurve implements IndicatorCurve {
+
+    private final Interpolator leftInterpolator;
+    private final Interpolator rightInterpolator;
+
+    InterpolatorCurve(Interpolator leftInterpolator, Interpolator rightInterpolator) {
+        this.leftInterpolator = leftInterpolator;
+        this.rightInterpolator = rightInterpolator;
+    }
+
+    @Override
+    public float left(float offset, float stretch) {
+        return leftInterpolator.getInterpolation(offset);
+    }
+
+    @Override
+    public float right(float offset, float stretch) {
+        return rightInterpolator.getInterpolation(offset);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cc.navigation;
+
+/**
+ * Fixed size latency histogram with power of two microsecond buckets, bucket {@code i}
+ * holding samples below {@code 2^i} us (the last one everything above).
+ * <p>
+ * Recording never allocates, so it can stay on in the draw path without showing up in
+ * what it measures. Not thread safe; record and read on the same thread.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Upper bound of the last bounded bucket is 2^20 us, about one second.
+     */
+    public static final int BUCKET_COUNT = 22;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets[bucketOf(nanos)]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public long getBucket(int index) {
+        return buckets[index];
+    }
+
+    /**
+     * Exclusive upper bound of a bucket in ns, {@link Long#MAX_VALUE} for the last one.
+     */
+    public static long getBucketUpperBoundNanos(int index) {
+        if (index >= BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return (1L << index) * 1000;
+    }
+
+    /**
+     * Upper bound of the bucket holding the {@code percentile} (0..1) sample, capped at the
+     * largest sample seen.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * count);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBoundNanos(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    void copyTo(LatencyHistogram target) {
+        System.arraycopy(buckets, 0, target.buckets, 0, BUCKET_COUNT);
+        target.count = count;
+        target.totalNanos = totalNanos;
+        target.maxNanos = maxNanos;
+    }
+
+    private static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        // 0us 在第 0 个桶，[2^(i-1), 2^i) 在第 i 个桶
+        int index = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.cc.navigation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link TabPagerSource} without a pager, for apps that switch content themselves.
+ * <p>
+ * Set the tabs with {@link #setTabs(List, int[])} (then call
+ * {@link SlidingTabStrip#notifyDataSetChanged()} on later changes) and report the scroll
+ * with {@link #onPageScrolled(int, float)}, {@link #onPageScrollStateChanged(int)} and
+ * {@link #setCurrentItem(int)}. Tab clicks end up in {@link #setCurrentItem(int)} as well,
+ * register a {@link Callback} to follow them.
+ */
+public class ManualPagerSource implements TabPagerSource {
+
+    private final ArrayList<Callback> callbacks = new ArrayList<>();
+    private final ArrayList<String> titles = new ArrayList<>();
+    private int[] iconResIds;
+    private int currentItem;
+
+    /**
+     * @param iconResIds icon of each tab, may be {@code null} for text-only tabs
+     */
+    public void setTabs(List<String> titles, int[] iconResIds) {
+        this.titles.clear();
+        this.titles.addAll(titles);
+        this.iconResIds = iconResIds;
+        if (currentItem >= titles.size()) {
+            currentItem = Math.max(0, titles.size() - 1);
+        }
+    }
+
+    public void onPageScrolled(int position, float positionOffset) {
+        for (int i = 0; i < callbacks.size(); i++) {
+            callbacks.get(i).onPageScrolled(position, positionOffset, 0);
+        }
+    }
+
+    public void onPageScrollStateChanged(int state) {
+        for (int i = 0; i < callbacks.size(); i++) {
+            callbacks.get(i).onPageScrollStateChanged(state);
+        }
+    }
+
+    @Override
+    public void registerCallback(Callback callback) {
+        if (!callbacks.contains(callback)) {
+            callbacks.add(callback);
+        }
+    }
+
+    @Override
+    public void unregisterCallback(Callback callback) {
+        callbacks.remove(callback);
+    }
+
+    @Override
+    public int getCount() {
+        return titles.size();
+    }
+
+    @Override
+    public int getCurrentItem() {
+        return currentItem;
+    }
+
+    /**
+     * Selects a page without animation: scrolls to it, selects it and settles.
+     */
+    @Override
+    public void setCurrentItem(int position) {
+        if (position == currentItem || position < 0 || position >= titles.size()) {
+            return;
+        }
+        currentItem = position;
+        onPageScrolled(position, 0f);
+        for (int i = 0; i < callbacks.size(); i++) {
+            callbacks.get(i).onPageSelected(position);
+        }
+        onPageScrollStateChanged(SCROLL_STATE_IDLE);
+    }
+
+    @Override
+    public String getPageTitle(int position) {
+        String title = titles.get(position);
+        return title == null ? "" : title;
+    }
+
+    @Override
+    public int getPageIconResId(int position) {
+        return iconResIds == null ? 0 : iconResIds[position];
+    }
+
+    @Override
+    public Object getPageKey(int position) {
+        String title = getPageTitle(position);
+        return title.isEmpty() ? (Object) getPageIconResId(position) : title;
+    }
+}
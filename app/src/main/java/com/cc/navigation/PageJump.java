@@ -0,0 +1,63 @@
+package com.cc.navigation;
+
+/**
+ * A long jump to a clicked page, during which the pager only scrolls its last step.
+ * <p>
+ * The pager is put next to the target without animation and scrolls from there, while the
+ * strip should move from where it was straight to the target. {@link #map(float)} turns the
+ * pager's progress over its last step into the strip's position over the whole distance.
+ */
+final class PageJump {
+
+    private boolean active;
+    private float stripStart;
+    private float pagerStart;
+    private int target;
+
+    /**
+     * @param stripStart position the strip showed when the jump began
+     * @param pagerStart position the pager scrolls from, next to the target
+     */
+    void begin(float stripStart, float pagerStart, int target) {
+        this.stripStart = stripStart;
+        this.pagerStart = pagerStart;
+        this.target = target;
+        active = true;
+    }
+
+    void end() {
+        active = false;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    int getTarget() {
+        return target;
+    }
+
+    /**
+     * Whether the pager at {@code pagerPosition} is still on its way from the start to the target.
+     */
+    boolean contains(float pagerPosition) {
+        return pagerPosition >= Math.min(pagerStart, target) && pagerPosition <= Math.max(pagerStart, target);
+    }
+
+    /**
+     * Position for the strip while the pager is at {@code pagerPosition}.
+     */
+    float map(float pagerPosition) {
+        if (pagerStart == target) {
+            return target;
+        }
+        float progress = (pagerPosition - pagerStart) / (target - pagerStart);
+        if (progress <= 0) {
+            return stripStart;
+        }
+        if (progress >= 1) {
+            return target;
+        }
+        return stripStart + (target - stripStart) * progress;
+    }
+}
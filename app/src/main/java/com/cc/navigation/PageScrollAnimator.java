@@ -0,0 +1,253 @@
+package com.cc.navigation;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+/**
+ * Moves a {@link TabPagerSource.Draggable} pager to a clicked page with a fake drag, the
+ * supported way of driving ViewPager and ViewPager2 with a duration and a curve of our own.
+ * <p>
+ * The duration grows with the square root of the pages crossed, capped at the maximum. A jump
+ * over more than one page does not scroll through the pages in between: the pager is put on
+ * the neighbor of the target without animation and only the last page is dragged. The drag is
+ * released {@link #RELEASE_DISTANCE} of a page before the target and the pager settles the rest
+ * with the velocity the drag had, so the hand-over does not jerk. A click while an animation
+ * is running starts the next one at the current speed instead of from rest.
+ * <p>
+ * {@link Listener#onPageDragged()} runs right after each drag step, when the pager has already
+ * reported its new offset, so a tab strip can scroll in the same frame.
+ */
+final class PageScrollAnimator {
+
+    interface Listener {
+        void onPageDragged();
+    }
+
+    /**
+     * Part of a page left to the pager's own settling; below half a page, so the pager picks
+     * the target whatever velocity it sees.
+     */
+    static final float RELEASE_DISTANCE = 0.25f;
+    /**
+     * Shortest duration, as a fraction of the one page duration, when matching a running
+     * animation's velocity.
+     */
+    static final float MIN_DURATION_FRACTION = 0.25f;
+    private static final float SLOPE_STEP = 0.01f;
+
+    private final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+    private final Listener listener;
+    private Interpolator interpolator = new DecelerateInterpolator();
+    private int pageDuration;
+    private int maxDuration;
+
+    private TabPagerSource.Draggable pager;
+    private float startPosition;
+    private int targetPosition = -1;
+    private int pageSize;
+    /**
+     * Pixels to drag in total, positive towards the previous page like
+     * {@link TabPagerSource.Draggable#fakeDragBy(float)}.
+     */
+    private float distance;
+    private float dragged;
+    /**
+     * Set while a running drag is stopped only to be continued towards a new target.
+     */
+    private boolean keepDragging;
+
+    PageScrollAnimator(Listener listener) {
+        this.listener = listener;
+        animator.setInterpolator(new LinearInterpolator());
+        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                onFrame(animation.getAnimatedFraction());
+            }
+        });
+        animator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                if (!keepDragging) {
+                    release();
+                }
+            }
+        });
+    }
+
+    /**
+     * @param pageDuration milliseconds for a one page jump, 0 leaves clicks to the pager
+     * @param maxDuration  cap for long jumps, never below the one page duration
+     */
+    void setDurations(int pageDuration, int maxDuration) {
+        this.pageDuration = pageDuration;
+        this.maxDuration = maxDuration;
+    }
+
+    int getPageDuration() {
+        return pageDuration;
+    }
+
+    int getMaxDuration() {
+        return maxDuration;
+    }
+
+    void setInterpolator(Interpolator interpolator) {
+        this.interpolator = interpolator == null ? new DecelerateInterpolator() : interpolator;
+    }
+
+    Interpolator getInterpolator() {
+        return interpolator;
+    }
+
+    boolean isEnabled() {
+        return pageDuration > 0;
+    }
+
+    boolean isRunning() {
+        return animator.isRunning();
+    }
+
+    int getTargetPosition() {
+        return targetPosition;
+    }
+
+    /**
+     * Page the running drag started from, next to the target after a long jump.
+     */
+    float getStartPosition() {
+        return startPosition;
+    }
+
+    long getRunningDuration() {
+        return animator.getDuration();
+    }
+
+    /**
+     * Duration of a jump over {@code pages} pages, without velocity matching.
+     */
+    int getDuration(float pages) {
+        return (int) Math.min(Math.max(pageDuration, maxDuration), pageDuration * Math.sqrt(Math.max(1f, pages)));
+    }
+
+    /**
+     * Starts moving {@code source} from {@code position}, the page and offset it last reported,
+     * to {@code target}. A running drag of the same pager goes on from where it is.
+     *
+     * @return false when the jump was left to the pager: it is not laid out, the user is
+     * dragging it, or it is settling on its own between two pages
+     */
+    boolean animateTo(TabPagerSource.Draggable source, float position, int target) {
+        int size = source.getPageSize();
+        if (size <= 0) {
+            cancel();
+            return false;
+        }
+        boolean continuing = animator.isRunning() && pager == source;
+        if (continuing && target == targetPosition) {
+            return true;
+        }
+
+        float pages = Math.abs(target - position);
+        float velocity = continuing ? getVelocity() : 0;
+        // the running drag has to go the same way to carry its speed over
+        if (velocity * (position - target) <= 0) {
+            velocity = 0;
+        }
+        if (continuing) {
+            stop(false);
+        } else {
+            cancel();
+        }
+
+        int from = target > position ? target - 1 : target + 1;
+        if (pages > 1 && from != source.getCurrentItem()) {
+            // the pages in between are skipped, the pager jumps next to the target
+            source.setCurrentItem(from, false);
+            position = from;
+        } else if (!continuing && position != Math.round(position)) {
+            // a drag now would fight the pager's own settling, which only a jump stops
+            return false;
+        }
+        if (!source.isFakeDragging() && !source.beginFakeDrag()) {
+            release();
+            return false;
+        }
+
+        pager = source;
+        startPosition = position;
+        targetPosition = target;
+        pageSize = size;
+        distance = (position - target) * size;
+        dragged = 0;
+
+        int duration = getDuration(pages);
+        if (velocity != 0) {
+            float slope = getSlope(0f);
+            if (slope > 0) {
+                int matched = (int) (slope * Math.abs(distance) / Math.abs(velocity));
+                duration = Math.max((int) (pageDuration * MIN_DURATION_FRACTION), Math.min(duration, matched));
+            }
+        }
+        animator.setDuration(duration);
+        animator.start();
+        return true;
+    }
+
+    /**
+     * Stops at the current offset and lets the pager settle on the nearest page.
+     */
+    void cancel() {
+        stop(true);
+    }
+
+    private void stop(boolean release) {
+        if (animator.isRunning()) {
+            keepDragging = !release;
+            animator.cancel();
+            keepDragging = false;
+        } else if (release) {
+            release();
+        }
+    }
+
+    private void onFrame(float fraction) {
+        if (pager == null) {
+            return;
+        }
+        float next = distance * interpolator.getInterpolation(fraction);
+        pager.fakeDragBy(next - dragged);
+        dragged = next;
+        listener.onPageDragged();
+        if (Math.abs(distance - dragged) <= pageSize * RELEASE_DISTANCE) {
+            animator.cancel();
+        }
+    }
+
+    private void release() {
+        if (pager != null && pager.isFakeDragging()) {
+            pager.endFakeDrag();
+        }
+        pager = null;
+        targetPosition = -1;
+    }
+
+    /**
+     * Pixels per millisecond the running drag moves at, signed like {@link #distance}.
+     */
+    private float getVelocity() {
+        if (!animator.isRunning() || animator.getDuration() == 0) {
+            return 0;
+        }
+        return distance * getSlope(animator.getAnimatedFraction()) / animator.getDuration();
+    }
+
+    private float getSlope(float fraction) {
+        float start = Math.min(fraction, 1f - SLOPE_STEP);
+        return (interpolator.getInterpolation(start + SLOPE_STEP) - interpolator.getInterpolation(start)) / SLOPE_STEP;
+    }
+}
@@ -0,0 +1,2264 @@
+/*
+ * Copyright (C) 2013 Andreas Stuetz <andreas.stuetz@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cc.navigation;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.util.TypedValue;
+import android.view.Choreographer;
+import android.view.Gravity;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewTreeObserver.OnGlobalLayoutListener;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeProvider;
+import android.view.animation.Interpolator;
+import android.widget.HorizontalScrollView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+
+
+/**
+ * Tab strip engine shared by {@link PagerSlidingTabStrip} ({@code ViewPager}) and
+ * {@link PagerSlidingTabStrip2} ({@code ViewPager2}); the pager itself is reached only
+ * through a {@link TabPagerSource}, use {@link ManualPagerSource} to drive it without one.
+ */
+public class SlidingTabStrip extends HorizontalScrollView {
+
+    private static final String TAG = SlidingTabStrip.class.getSimpleName();
+    /**
+     * 打开后会在每一帧输出滚动和下标的日志，只用于调试，发布前保持 false
+     */
+    private static final boolean DEBUG = false;
+    private final int mTextBold;
+
+    private static final int TEXT_BOLD_NONE = 0;
+    private static final int TEXT_BOLD_WHEN_SELECT = 1;
+    private static final int TEXT_BOLD_BOTH = 2;
+
+    private static final int DEFAULT_PAGE_SCROLL_MAX_DURATION = 600;
+
+    /**
+     * 指示器移动不到半个像素时不重绘，画出来几乎没有区别
+     */
+    private static final float INDICATOR_INVALIDATE_THRESHOLD = 0.5f;
+
+    private static final int[][] SELECTED_STATE_SPECS = {{android.R.attr.state_selected}, {}};
+
+    // @formatter:off
+    private static final int[] ATTRS = new int[]{android.R.attr.textSize,
+            android.R.attr.textColor};
+    // @formatter:on
+
+    private LinearLayout.LayoutParams defaultTabLayoutParams;
+    private LinearLayout.LayoutParams expandedTabLayoutParams;
+
+    final PageListener pageListener = new PageListener();
+
+    private LinearLayout tabsContainer;
+    private TabPagerSource pagerSource;
+
+    private int tabCount;
+
+    private int currentPosition = 0;
+    /**
+     * 当前按选中样式显示的tab，-1 表示还没有设置过样式
+     */
+    private int selectedPosition = -1;
+    private float currentPositionOffset = 0f;
+
+    private Paint dividerPaint;
+
+    private int indicatorColor = 0xFFff5050;
+
+    private boolean shouldExpand = false;
+    private boolean textAllCaps = false;
+
+    private int scrollOffset = 52;
+    private int indicatorHeight = 8;
+    private int tabPadding = 7;
+    private int dividerWidth = 1;
+
+    private int tabTextSize = 15;
+    private int tabSelectTextSize = tabTextSize;
+    /**
+     * 选中字号随滑动进度缩放：所有tab都按大字号排版，画的时候用 scale 缩到对应字号，滑动时不重新布局
+     */
+    private boolean scaleSelectText = false;
+    /**
+     * 文字颜色随滑动进度在未选中和选中颜色之间渐变，画的时候用颜色滤镜，不每帧 setTextColor
+     */
+    private boolean blendTextColor = false;
+    final TextColorBlender textColorBlender = new TextColorBlender();
+    /**
+     * 选中样式用 view 的 selected 状态表示：文字颜色是所有tab共用的一个 ColorStateList，背景按 state_selected 显示，
+     * 选中改变时只对两个tab调用 setSelected；选中和未选中的字号、加粗不同时这两项还是直接设置
+     */
+    private boolean stateListStyle = false;
+    private ColorStateList stateListTextColors;
+    /**
+     * 文字tab的字号和字体固定不变，选中的字号用缩放、加粗用画笔的假粗体表现，最小宽度按这个固定样式预留，
+     * 选中改变时不会重新布局，tab宽度和位置都不变
+     */
+    private boolean stableTabWidth = false;
+    /**
+     * 上一帧缩放、变色过的当前tab（和它的下一个tab），位置变了以后要把它们恢复成静止时的样子
+     */
+    private int emphasizedPosition = -1;
+    private int tabTextSelectedColor = 0xFFff5050;
+    private int tabTextNormalColor = 0xFF5b5b5b;
+
+    private int dividerPaddingBottom;
+
+    private final IndicatorGeometry indicatorGeometry = new IndicatorGeometry();
+    private int iconGravity;
+    private int iconPadding;
+
+    /**
+     * 圆角
+     */
+    private float corner = 2;
+
+    private final IndicatorRenderer indicatorRenderer = new IndicatorRenderer();
+    private final RectF indicatorBounds = new RectF();
+    /**
+     * 上一次画出来的指示器位置，滑动时只重绘它和新位置的并集
+     */
+    private final RectF drawnIndicatorBounds = new RectF();
+    private boolean indicatorDrawn;
+
+    /**
+     * 性能统计，null 表示没有打开
+     */
+    private TabStripMetrics metrics;
+
+    private Typeface tabTypeface = null;
+    private Typeface boldTabTypeface = null;
+    private int tabTypefaceStyle = Typeface.BOLD;
+
+    private int lastScrollX = 0;
+
+    /**
+     * pager 在一帧里可能回调多次 onPageScrolled，只记下最后一次，在下一个 vsync 统一滚动和刷新一次
+     */
+    private int pendingPosition;
+    private float pendingPositionOffset;
+    private boolean scrollPending;
+    private boolean scrollFrameScheduled;
+    private final Choreographer.FrameCallback scrollFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            scrollFrameScheduled = false;
+            applyPendingScroll();
+        }
+    };
+
+    /**
+     * 点击tab时用假拖动把 pager 带到目标页，时长随跨过的页数变化，远距离跳转跳过中间的页；
+     * 每一步拖动后立刻滚动tab栏，和 pager 同一帧
+     */
+    private final PageScrollAnimator pageScrollAnimator = new PageScrollAnimator(new PageScrollAnimator.Listener() {
+        @Override
+        public void onPageDragged() {
+            applyPendingScroll();
+        }
+    });
+
+    /**
+     * 点击的tab离当前页超过这么多页时，pager 先不带动画跳到目标旁边，只滚最后一页，中间的页不会被创建；0 表示不跳
+     */
+    private int pageJumpThreshold = 0;
+    /**
+     * 跳转时 tab 栏从点击时的位置直接滚到目标，不跟着 pager 跳到目标旁边
+     */
+    private final PageJump pageJump = new PageJump();
+    /**
+     * pager 最后一次回调的位置，跳转时和 tab 栏显示的位置不一样
+     */
+    private float reportedPosition;
+    private boolean pageJumpStepPending;
+    private final Choreographer.FrameCallback pageJumpStepCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            pageJumpStepPending = false;
+            if (pageJump.isActive()) {
+                pagerSource.setCurrentItem(pageJump.getTarget());
+            }
+        }
+    };
+
+    private int tabBackgroundResId = android.R.color.transparent;
+
+    /**
+     * 没有 attach 时 {@link Editor#apply()} 先不刷新样式，attach 后统一刷新一次
+     */
+    private boolean attachedToWindow;
+    private boolean tabStylesPending;
+
+    /**
+     * pageListener 在 pagerSource 上注册的次数，只会是 0 或 1；detach 时也保留，外部的 OnPageChangeListener 靠它收到回调
+     */
+    private int pageCallbackCount;
+    /**
+     * attach 过又 detach 了，pager 的回调只转给外部监听，tab 栏自己不滚动也不刷新，重新 attach 时同步 pager 当前的位置
+     */
+    private boolean pagerPaused;
+
+    /**
+     * 只创建可见范围内的tab，用于tab数量很多的情况，不支持 shouldExpand
+     */
+    private boolean virtualTabs = false;
+
+    /**
+     * 图标在后台线程解码，先显示没有图标的tab
+     */
+    private boolean asyncIcons = true;
+    private final TabIconLoader.Callback iconLoadedCallback = new TabIconLoader.Callback() {
+        @Override
+        public void onIconLoaded(View tab, int iconRes, Drawable drawable) {
+            if (drawable != null && isIconBound(tab, iconRes)) {
+                TabItem item = TabItem.of(tab);
+                item.setIcon(drawable, iconGravity, iconPadding);
+                // 左右的图标也算在预留宽度里
+                reserveTabWidth(item, getTabPosition(tab));
+            }
+        }
+    };
+    private VirtualTabWindow virtualTabWindow;
+    /**
+     * 正在 HorizontalScrollView 的 onLayout 里，这时滚动改变不移动虚拟窗口
+     */
+    private boolean layingOut;
+
+    /**
+     * tab不创建子 view，标题直接在 onDraw 里画，点击自己判断；只画文字，不支持图标和 shouldExpand
+     */
+    private boolean drawnTabs = false;
+    private final TabTitleRenderer titleRenderer = new TabTitleRenderer();
+    /**
+     * 画出来的tab没有 view，每个tab作为一个虚拟 view 提供给读屏等无障碍服务，打开 drawnTabs 时创建
+     */
+    private DrawnTabAccessibility drawnTabAccessibility;
+    private int tabGravity = Gravity.CENTER;
+    private final int touchSlop;
+    private float tapDownX;
+    private float tapDownY;
+    private boolean tapping;
+
+    /**
+     * 每个tab的左边、中心和宽度，滚动和画指示器时直接读数组，不再遍历子 view
+     */
+    final TabPositions tabPositions = new TabPositions();
+
+    /**
+     * 非虚拟模式下每个tab的 key，和 tabsContainer 里的tab一一对应
+     */
+    private final ArrayList<Object> tabKeys = new ArrayList<>();
+    private boolean dataSetChangedPending;
+    private final Runnable dataSetChangedRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (dataSetChangedPending) {
+                updateTabs();
+            }
+        }
+    };
+
+    private boolean firstLayoutListenerAdded;
+    private final OnGlobalLayoutListener firstLayoutListener = new OnGlobalLayoutListener() {
+
+        @SuppressWarnings("deprecation")
+        @SuppressLint("NewApi")
+        @Override
+        public void onGlobalLayout() {
+
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+                getViewTreeObserver().removeGlobalOnLayoutListener(
+                        this);
+            } else {
+                getViewTreeObserver().removeOnGlobalLayoutListener(
+                        this);
+            }
+            firstLayoutListenerAdded = false;
+
+            currentPosition = pagerSource.getCurrentItem();
+            reportedPosition = currentPosition;
+            scrollToChild(currentPosition, 0);
+
+            // 通知当前选中的是那个页面
+            dispatchPageSelected(currentPosition);
+        }
+    };
+
+    private final OnClickListener tabClickListener = new OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            onTabClick(getTabPosition(v));
+        }
+    };
+
+    private Locale locale;
+
+    public SlidingTabStrip(Context context) {
+        this(context, null);
+    }
+
+    public SlidingTabStrip(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public SlidingTabStrip(Context context, AttributeSet attrs,
+                                 int defStyle) {
+        super(context, attrs, defStyle);
+
+        setFillViewport(true);
+        setWillNotDraw(false);
+
+        tabsContainer = new LinearLayout(context);
+        tabsContainer.setOrientation(LinearLayout.HORIZONTAL);
+        tabsContainer.setLayoutParams(new LayoutParams(
+                LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        tabsContainer.setGravity(tabGravity);
+        addView(tabsContainer);
+
+        touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+
+        DisplayMetrics dm = getResources().getDisplayMetrics();
+
+        scrollOffset = (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP, scrollOffset, dm);
+        indicatorHeight = (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP, indicatorHeight, dm);
+        tabPadding = (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP, tabPadding, dm);
+        dividerWidth = (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP, dividerWidth, dm);
+        tabTextSize = (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, tabTextSize, dm);
+        tabSelectTextSize = (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, tabSelectTextSize, dm);
+        corner = (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP, corner, dm);
+
+        // get system attrs (android:textSize and android:textColor)
+
+        // get custom attrs
+
+        TypedArray a = context.obtainStyledAttributes(attrs,
+                R.styleable.PagerSlidingTabStrip);
+
+        indicatorColor = a.getColor(
+                R.styleable.PagerSlidingTabStrip_pstsIndicatorColor,
+                indicatorColor);
+        indicatorHeight = a.getDimensionPixelSize(
+                R.styleable.PagerSlidingTabStrip_pstsIndicatorHeight,
+                indicatorHeight);
+        tabPadding = a.getDimensionPixelSize(
+                R.styleable.PagerSlidingTabStrip_pstsTabPaddingLeftRight,
+                tabPadding);
+        tabBackgroundResId = a.getResourceId(
+                R.styleable.PagerSlidingTabStrip_pstsTabBackground,
+                tabBackgroundResId);
+        shouldExpand = a
+                .getBoolean(R.styleable.PagerSlidingTabStrip_pstsShouldExpand,
+                        shouldExpand);
+        scrollOffset = a
+                .getDimensionPixelSize(
+                        R.styleable.PagerSlidingTabStrip_pstsScrollOffset,
+                        scrollOffset);
+        textAllCaps = a.getBoolean(
+                R.styleable.PagerSlidingTabStrip_pstsTextAllCaps, textAllCaps);
+        indicatorGeometry.setDividerExpand(a.getBoolean(
+                R.styleable.PagerSlidingTabStrip_pstsDividerExpand, false));
+        dividerPaddingBottom = a.getDimensionPixelSize(
+                R.styleable.PagerSlidingTabStrip_pstsDividerPaddingBottom, 0);
+        indicatorGeometry.setIndicatorWidth(a.getDimensionPixelSize(
+                R.styleable.PagerSlidingTabStrip_pstsDividerWidth, 0));
+        indicatorGeometry.setDividerFlexLength(a.getDimensionPixelSize(
+                R.styleable.PagerSlidingTabStrip_pstsDividerFlexLength, 0));
+        indicatorGeometry.setDividerNeedFlex(a.getBoolean(
+                R.styleable.PagerSlidingTabStrip_pstsDividerNeedFlex, false));
+        tabTextNormalColor = a.getColor(R.styleable.PagerSlidingTabStrip_pstsNormalText, tabTextNormalColor);
+        tabTextSelectedColor = a.getColor(R.styleable.PagerSlidingTabStrip_pstsSelectText, tabTextSelectedColor);
+        tabTextSize = a.getDimensionPixelSize(R.styleable.PagerSlidingTabStrip_pstsTextSize, tabTextSize);
+        tabSelectTextSize = a.getDimensionPixelSize(R.styleable.PagerSlidingTabStrip_pstsSelectTextSize, tabSelectTextSize);
+        corner = a.getDimension(R.styleable.PagerSlidingTabStrip_pstsDividerRadius, corner);
+
+        mTextBold = a.getInt(R.styleable.PagerSlidingTabStrip_pstsTextBold, TEXT_BOLD_NONE);
+        virtualTabs = a.getBoolean(R.styleable.PagerSlidingTabStrip_pstsVirtualTabs, virtualTabs);
+        asyncIcons = a.getBoolean(R.styleable.PagerSlidingTabStrip_pstsAsyncIcons, asyncIcons);
+        scaleSelectText = a.getBoolean(R.styleable.PagerSlidingTabStrip_pstsScaleSelectText, scaleSelectText);
+        blendTextColor = a.getBoolean(R.styleable.PagerSlidingTabStrip_pstsBlendTextColor, blendTextColor);
+        stateListStyle = a.getBoolean(R.styleable.PagerSlidingTabStrip_pstsStateListStyle, stateListStyle);
+        stableTabWidth = a.getBoolean(R.styleable.PagerSlidingTabStrip_pstsStableTabWidth, stableTabWidth);
+        drawnTabs = a.getBoolean(R.styleable.PagerSlidingTabStrip_pstsDrawnTabs, drawnTabs);
+        pageScrollAnimator.setDurations(
+                a.getInt(R.styleable.PagerSlidingTabStrip_pstsPageScrollDuration, 0),
+                a.getInt(R.styleable.PagerSlidingTabStrip_pstsPageScrollMaxDuration, DEFAULT_PAGE_SCROLL_MAX_DURATION));
+        pageJumpThreshold = a.getInt(R.styleable.PagerSlidingTabStrip_pstsPageJumpThreshold, pageJumpThreshold);
+
+        a.recycle();
+
+        indicatorGeometry.setTabPadding(tabPadding);
+        indicatorGeometry.setTabPositions(tabPositions);
+
+        indicatorRenderer.setCorner(corner);
+
+        dividerPaint = new Paint();
+        dividerPaint.setAntiAlias(true);
+        dividerPaint.setStrokeWidth(dividerWidth);
+
+        defaultTabLayoutParams = new LinearLayout.LayoutParams(
+                LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
+        expandedTabLayoutParams = new LinearLayout.LayoutParams(0,
+                LayoutParams.MATCH_PARENT, 1.0f);
+
+        if (locale == null) {
+            locale = getResources().getConfiguration().locale;
+        }
+
+        TabIconCache.register(context);
+
+        if (virtualTabs && !drawnTabs) {
+            virtualTabWindow = new VirtualTabWindow(tabsContainer, tabPositions, new VirtualTabBinder());
+        }
+        if (drawnTabs) {
+            drawnTabAccessibility = new DrawnTabAccessibility(this, new DrawnTabHost());
+        }
+    }
+
+    /**
+     * 绑定tab的数据和滚动来源，之前绑定的来源不再回调；重复绑定时 pager 上始终只有一个监听
+     */
+    public void setPagerSource(TabPagerSource pagerSource) {
+        releasePagerSource();
+        this.pagerSource = pagerSource;
+        reportedPosition = pagerSource.getCurrentItem();
+
+        registerPageCallback();
+
+        updateTabs();
+    }
+
+    /**
+     * 解除绑定并清空tab，比如 RecyclerView 里的 item 被回收时，避免 pager 继续引用和驱动这个 tab 栏
+     */
+    public void unbindPagerSource() {
+        if (pagerSource == null) {
+            return;
+        }
+        releasePagerSource();
+        pagerSource = null;
+        clearTabs();
+    }
+
+    /**
+     * 停下和当前 pagerSource 相关的动画、跳转和还没执行的回调
+     */
+    private void releasePagerSource() {
+        pageScrollAnimator.cancel();
+        cancelPageJump();
+        unregisterPageCallback();
+        dataSetChangedPending = false;
+        removeCallbacks(dataSetChangedRunnable);
+    }
+
+    private void registerPageCallback() {
+        if (pagerSource != null && pageCallbackCount == 0) {
+            pagerSource.registerCallback(pageListener);
+            pageCallbackCount++;
+        }
+    }
+
+    private void unregisterPageCallback() {
+        if (pagerSource != null && pageCallbackCount > 0) {
+            pagerSource.unregisterCallback(pageListener);
+            pageCallbackCount--;
+        }
+    }
+
+    int getPageCallbackCount() {
+        return pageCallbackCount;
+    }
+
+    private void clearTabs() {
+        tabCount = 0;
+        if (drawnTabs) {
+            tabPositions.setCount(0);
+            titleRenderer.setCount(0);
+            tabsContainer.setMinimumWidth(0);
+            drawnTabAccessibility.reset();
+        } else if (virtualTabWindow != null) {
+            virtualTabWindow.setTabCount(0);
+        } else {
+            tabPositions.setCount(0);
+            tabsContainer.removeAllViews();
+            tabKeys.clear();
+        }
+        removeFirstLayoutListener();
+        scrollPending = false;
+        currentPosition = 0;
+        currentPositionOffset = 0f;
+        selectedPosition = -1;
+        emphasizedPosition = -1;
+        indicatorDrawn = false;
+        lastScrollX = 0;
+        scrollTo(0, 0);
+        invalidate();
+    }
+
+    /**
+     * 暂停期间 pager 的回调 tab 栏自己都没有处理，按 pager 现在的页数和位置同步一次
+     */
+    private void resumePagerSource() {
+        if (pagerSource.getCount() != tabCount) {
+            updateTabs();
+        }
+        int position = pagerSource.getCurrentItem();
+        reportedPosition = position;
+        if (position != currentPosition || currentPositionOffset != 0f) {
+            postPendingScroll(position, 0f);
+        }
+        updateSelectedTab(position);
+    }
+
+    public TabPagerSource getPagerSource() {
+        return pagerSource;
+    }
+
+    public void setGravity(int gravity) {
+        tabGravity = gravity;
+        tabsContainer.setGravity(gravity);
+    }
+
+    /**
+     * 同一帧里多次调用只会在下一次消息循环里刷新一次，已有的tab按 key 复用，只有变化的tab才会重新设置
+     */
+    public void notifyDataSetChanged() {
+        if (pagerSource == null || dataSetChangedPending) {
+            return;
+        }
+        dataSetChangedPending = true;
+        post(dataSetChangedRunnable);
+    }
+
+    private void updateTabs() {
+        long traceStart = beginSection(TabStripMetrics.SECTION_REBUILD);
+        rebuildTabs();
+        endSection(TabStripMetrics.SECTION_REBUILD, traceStart);
+    }
+
+    private void rebuildTabs() {
+        dataSetChangedPending = false;
+        removeCallbacks(dataSetChangedRunnable);
+
+        tabCount = pagerSource.getCount();
+
+        if (drawnTabs) {
+            // 标题和宽度在 restyleTabs 里量
+            tabPositions.setCount(tabCount);
+            titleRenderer.setCount(tabCount);
+            drawnTabAccessibility.reset();
+        } else if (virtualTabWindow != null) {
+            virtualTabWindow.setTabCount(tabCount);
+        } else {
+            tabPositions.setCount(tabCount);
+            diffTabs();
+        }
+
+        updateTabStyles();
+
+        addFirstLayoutListener();
+    }
+
+    /**
+     * 只加在 attach 后的 ViewTreeObserver 上：detach 后 getViewTreeObserver() 换成了另一个，
+     * 加在窗口上的监听就删不掉了，所以 detach 时先拿下来，attach 时再加回去
+     */
+    private void addFirstLayoutListener() {
+        if (!firstLayoutListenerAdded) {
+            firstLayoutListenerAdded = true;
+            if (attachedToWindow) {
+                getViewTreeObserver().addOnGlobalLayoutListener(firstLayoutListener);
+            }
+        }
+    }
+
+    private void removeFirstLayoutListener() {
+        if (firstLayoutListenerAdded) {
+            firstLayoutListenerAdded = false;
+            if (attachedToWindow) {
+                getViewTreeObserver().removeOnGlobalLayoutListener(firstLayoutListener);
+            }
+        }
+    }
+
+    /**
+     * 按 key 把已有的tab对应到新的位置上，只创建新增的、删除没有了的、移动位置变了的tab
+     */
+    private void diffTabs() {
+        HashMap<Object, ArrayDeque<View>> reusableTabs = new HashMap<>();
+        int oldCount = tabsContainer.getChildCount();
+        for (int i = 0; i < oldCount; i++) {
+            Object key = tabKeys.get(i);
+            ArrayDeque<View> tabs = reusableTabs.get(key);
+            if (tabs == null) {
+                tabs = new ArrayDeque<>();
+                reusableTabs.put(key, tabs);
+            }
+            tabs.add(tabsContainer.getChildAt(i));
+        }
+
+        View[] newTabs = new View[tabCount];
+        tabKeys.clear();
+        for (int i = 0; i < tabCount; i++) {
+            Object key = getTabKey(i);
+            int viewType = TabItem.viewType(getTabKind(i));
+            ArrayDeque<View> tabs = reusableTabs.get(key);
+            View tab = tabs == null ? null : tabs.poll();
+            if (tab != null && TabItem.viewType(TabItem.of(tab).getKind()) != viewType) {
+                tabs.addFirst(tab);
+                tab = null;
+            }
+            if (tab == null) {
+                tab = createTab(viewType).view;
+            }
+            bindTab(TabItem.of(tab), i);
+            newTabs[i] = tab;
+            tabKeys.add(key);
+        }
+
+        for (ArrayDeque<View> tabs : reusableTabs.values()) {
+            for (View tab : tabs) {
+                tabsContainer.removeView(tab);
+            }
+        }
+        LinearLayout.LayoutParams params = shouldExpand ? expandedTabLayoutParams : defaultTabLayoutParams;
+        for (int i = 0; i < tabCount; i++) {
+            View tab = newTabs[i];
+            if (tabsContainer.getChildAt(i) != tab) {
+                if (tab.getParent() != null) {
+                    tabsContainer.removeView(tab);
+                }
+                tabsContainer.addView(tab, i, params);
+            } else if (tab.getLayoutParams() != params) {
+                // 留在原位的tab也要跟上 shouldExpand 的变化
+                tab.setLayoutParams(params);
+            }
+        }
+    }
+
+    private int getTabIcon(int position) {
+        return pagerSource.getPageIconResId(position);
+    }
+
+    private String getTabTitle(int position) {
+        return pagerSource.getPageTitle(position);
+    }
+
+    private Object getTabKey(int position) {
+        return pagerSource.getPageKey(position);
+    }
+
+    /**
+     * pager source 实现了 {@link TabPagerSource.CustomTabs} 时先问是不是自定义tab，其他的按有没有标题和图标分
+     */
+    private int getTabKind(int position) {
+        if (pagerSource instanceof TabPagerSource.CustomTabs
+                && ((TabPagerSource.CustomTabs) pagerSource).isCustomTab(position)) {
+            return TabItem.KIND_CUSTOM;
+        }
+        boolean hasIcon = getTabIcon(position) != 0;
+        if (TextUtils.isEmpty(getTabTitle(position))) {
+            return hasIcon ? TabItem.KIND_ICON : TabItem.KIND_TEXT;
+        }
+        return hasIcon ? TabItem.KIND_ICON_TEXT : TabItem.KIND_TEXT;
+    }
+
+    private TabItem createTab(int viewType) {
+        TabItem tab;
+        if (viewType == TabItem.KIND_ICON) {
+            tab = TabItem.createIcon(getContext());
+        } else if (viewType == TabItem.KIND_CUSTOM) {
+            tab = TabItem.wrapCustom(((TabPagerSource.CustomTabs) pagerSource).createTabView(tabsContainer));
+        } else {
+            tab = TabItem.createText(getContext());
+        }
+        tab.view.setFocusable(true);
+        tab.view.setOnClickListener(tabClickListener);
+        return tab;
+    }
+
+    private void bindTab(TabItem tab, int position) {
+        int kind = getTabKind(position);
+        tab.setKind(kind);
+        View view = tab.view;
+        if (kind == TabItem.KIND_CUSTOM) {
+            ((TabPagerSource.CustomTabs) pagerSource).bindTabView(view, position);
+        } else {
+            int iconRes = getTabIcon(position);
+            if (tab.text != null) {
+                String title = getTabTitle(position);
+                if (!TextUtils.equals(tab.text.getText(), title)) {
+                    tab.text.setText(title);
+                }
+            }
+            if (iconRes != 0) {
+                if (!isIconBound(view, iconRes)) {
+                    bindTabIcon(tab, iconRes);
+                }
+            } else if (view.getTag(R.id.psts_tab_icon) != null) {
+                tab.clearIcon();
+            }
+            view.setTag(R.id.psts_tab_icon, iconRes == 0 ? null : iconRes);
+            view.setPadding(tabPadding, 0, tabPadding, 0);
+        }
+        view.setTag(R.id.psts_tab_position, position);
+        if (metrics != null) {
+            metrics.countTabBound();
+        }
+    }
+
+    /**
+     * 缓存里有的图标直接用；异步加载时先清掉旧图标占位，加载完成后如果tab还是这个图标再设置上去；
+     * 虚拟模式下tab宽度在绑定时就要量好，所以同步加载
+     */
+    private void bindTabIcon(TabItem tab, int iconRes) {
+        Drawable cached = TabIconCache.get(getResources(), iconRes);
+        if (cached != null) {
+            tab.setIcon(cached, iconGravity, iconPadding);
+        } else if (asyncIcons && virtualTabWindow == null) {
+            tab.setIcon(null, iconGravity, iconPadding);
+            TabIconLoader.load(getResources(), tab.view, iconRes, iconLoadedCallback);
+        } else {
+            tab.setIcon(TabIconCache.load(getResources(), iconRes), iconGravity, iconPadding);
+        }
+    }
+
+    private static int getTabPosition(View tab) {
+        return (Integer) tab.getTag(R.id.psts_tab_position);
+    }
+
+    private static boolean isIconBound(View tab, int iconRes) {
+        Object boundIcon = tab.getTag(R.id.psts_tab_icon);
+        return boundIcon != null && (Integer) boundIcon == iconRes;
+    }
+
+    /**
+     * tab的宽度，文字tab直接用 Paint 量并缓存，按选中和未选中里大的字号和加粗算，保证切换选中时不会被截断
+     */
+    private int measureTab(int position) {
+        if (getTabKind(position) != TabItem.KIND_TEXT) {
+            return VirtualTabWindow.MEASURE_WITH_VIEW;
+        }
+        return measureTitle(getDisplayTitle(position));
+    }
+
+    private int measureTitle(String title) {
+        return TabWidthCache.measure(title, getTabTypeface(mTextBold != TEXT_BOLD_NONE),
+                Math.max(tabTextSize, tabSelectTextSize), tabPadding);
+    }
+
+    private String getDisplayTitle(int position) {
+        String title = getTabTitle(position);
+        if (title == null) {
+            return "";
+        }
+        return textAllCaps ? title.toUpperCase(locale) : title;
+    }
+
+    /**
+     * 画出来的tab：按标题量好每个tab的宽度，用 tabsContainer 的最小宽度撑出滚动范围
+     */
+    private void measureDrawnTabs() {
+        for (int i = 0; i < tabCount; i++) {
+            String title = getDisplayTitle(i);
+            titleRenderer.setTitle(i, title);
+            tabPositions.setWidth(i, measureTitle(title));
+        }
+        tabPositions.rebuild();
+        tabsContainer.setMinimumWidth((int) Math.ceil(tabPositions.getTotalWidth()));
+        tabsContainer.requestLayout();
+        invalidate();
+    }
+
+    /**
+     * tabsContainer 比所有tab宽时，按 gravity 算第一个tab的位置，和有子 view 时 LinearLayout 的摆法一致
+     */
+    private float getDrawnTabsOrigin() {
+        float extra = tabsContainer.getWidth() - tabPositions.getTotalWidth();
+        if (extra <= 0) {
+            return 0;
+        }
+        switch (Gravity.getAbsoluteGravity(tabGravity, getLayoutDirection()) & Gravity.HORIZONTAL_GRAVITY_MASK) {
+            case Gravity.CENTER_HORIZONTAL:
+                return extra / 2;
+            case Gravity.RIGHT:
+                return extra;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 只画可见范围内的标题
+     */
+    private void drawTabTitles(Canvas canvas) {
+        float firstTabLeft = getPaddingLeft() + tabPositions.getOrigin();
+        int first = tabPositions.indexAt(getScrollX() - firstTabLeft);
+        int last = tabPositions.indexAt(getScrollX() + getWidth() - firstTabLeft);
+        float centerY = (getPaddingTop() + getHeight() - getPaddingBottom()) / 2f;
+        for (int i = first; i <= last; i++) {
+            boolean selected = i == selectedPosition;
+            float emphasis = getEmphasis(i);
+            float textSize;
+            float scale = 1f;
+            if (scaleSelectText) {
+                textSize = getMaxTextSize();
+                scale = (tabTextSize + (tabSelectTextSize - tabTextSize) * emphasis) / textSize;
+            } else {
+                textSize = selected ? tabSelectTextSize : tabTextSize;
+            }
+            int color;
+            if (blendTextColor) {
+                textColorBlender.setColors(tabTextNormalColor, tabTextSelectedColor);
+                color = textColorBlender.getColor(emphasis);
+            } else {
+                color = selected ? tabTextSelectedColor : tabTextNormalColor;
+            }
+            titleRenderer.draw(canvas, i, getPaddingLeft() + tabPositions.getCenter(i), centerY,
+                    textSize, scale, getTabTypeface(selected), color);
+        }
+    }
+
+    /**
+     * 画出来的tab自己判断点击：按下和抬起之间没有移动超过 touchSlop 才算点了抬起位置的tab
+     */
+    private void trackTabTap(MotionEvent ev) {
+        switch (ev.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                tapDownX = ev.getX();
+                tapDownY = ev.getY();
+                tapping = true;
+                break;
+            case MotionEvent.ACTION_MOVE:
+                if (Math.abs(ev.getX() - tapDownX) > touchSlop || Math.abs(ev.getY() - tapDownY) > touchSlop) {
+                    tapping = false;
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+                if (tapping) {
+                    tapping = false;
+                    int position = getDrawnTabAt(ev.getX());
+                    if (position >= 0) {
+                        clickDrawnTab(position);
+                    }
+                }
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                tapping = false;
+                break;
+        }
+    }
+
+    /**
+     * performClick 给无障碍服务发点击事件，设在 tab 栏上的点击监听也会收到；没有监听时它不放音效，这里补上
+     */
+    private void clickDrawnTab(int position) {
+        if (!performClick()) {
+            playSoundEffect(SoundEffectConstants.CLICK);
+        }
+        onTabClick(position);
+        drawnTabAccessibility.sendEvent(position, AccessibilityEvent.TYPE_VIEW_CLICKED);
+    }
+
+    /**
+     * view 坐标 x 处的tab，不在任何tab上时返回 -1
+     */
+    private int getDrawnTabAt(float x) {
+        float offset = x + getScrollX() - getPaddingLeft() - tabPositions.getOrigin();
+        if (tabCount == 0 || offset < 0 || offset >= tabPositions.getTotalWidth()) {
+            return -1;
+        }
+        return tabPositions.indexAt(offset);
+    }
+
+    private void onTabClick(int position) {
+        float stripPosition = getStripPosition();
+        if (pagerSource instanceof TabPagerSource.Draggable) {
+            TabPagerSource.Draggable draggable = (TabPagerSource.Draggable) pagerSource;
+            if (pageScrollAnimator.isEnabled()) {
+                if (pageScrollAnimator.animateTo(draggable, reportedPosition, position)) {
+                    beginPageJump(stripPosition, pageScrollAnimator.getStartPosition(), position);
+                    return;
+                }
+            } else if (pageJumpThreshold > 0 && Math.abs(position - reportedPosition) > pageJumpThreshold) {
+                int neighbor = position > reportedPosition ? position - 1 : position + 1;
+                cancelPageJump();
+                draggable.setCurrentItem(neighbor, false);
+                beginPageJump(stripPosition, neighbor, position);
+                // 最后一页下一帧再滚，ViewPager2 要先把跳到的页布局好
+                pageJumpStepPending = true;
+                Choreographer.getInstance().postFrameCallback(pageJumpStepCallback);
+                return;
+            }
+        }
+        cancelPageJump();
+        pagerSource.setCurrentItem(position);
+    }
+
+    /**
+     * tab 栏现在显示的页和偏移，还没有滚动过去的也算
+     */
+    private float getStripPosition() {
+        return scrollPending ? pendingPosition + pendingPositionOffset : currentPosition + currentPositionOffset;
+    }
+
+    /**
+     * pager 跳到目标旁边时已经回调过一次，这里换回 tab 栏原来的位置，选中样式直接给目标
+     */
+    private void beginPageJump(float stripPosition, float pagerPosition, int target) {
+        pageJump.begin(stripPosition, pagerPosition, target);
+        postPendingScroll(stripPosition);
+        updateSelectedTab(target);
+    }
+
+    private void cancelPageJump() {
+        pageJump.end();
+        if (pageJumpStepPending) {
+            pageJumpStepPending = false;
+            Choreographer.getInstance().removeFrameCallback(pageJumpStepCallback);
+        }
+    }
+
+    private boolean isFakeDragging() {
+        return pagerSource instanceof TabPagerSource.Draggable
+                && ((TabPagerSource.Draggable) pagerSource).isFakeDragging();
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent ev) {
+        if (drawnTabs && pagerSource != null) {
+            trackTabTap(ev);
+        }
+        return super.onTouchEvent(ev);
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        if (drawnTabs && drawnTabAccessibility.dispatchHoverEvent(event)) {
+            return true;
+        }
+        return super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public AccessibilityNodeProvider getAccessibilityNodeProvider() {
+        return drawnTabs ? drawnTabAccessibility : super.getAccessibilityNodeProvider();
+    }
+
+    /**
+     * 画出来的tab不能获得焦点，tab 栏有焦点时左右键直接切换到前一个、后一个tab，到头了再交给 HorizontalScrollView
+     */
+    @Override
+    public boolean executeKeyEvent(KeyEvent event) {
+        if (drawnTabs && pagerSource != null && event.getAction() == KeyEvent.ACTION_DOWN) {
+            int target = -1;
+            if (event.getKeyCode() == KeyEvent.KEYCODE_DPAD_LEFT) {
+                target = selectedPosition - 1;
+            } else if (event.getKeyCode() == KeyEvent.KEYCODE_DPAD_RIGHT) {
+                target = selectedPosition + 1;
+            }
+            if (target >= 0 && target < tabCount) {
+                onTabClick(target);
+                return true;
+            }
+        }
+        return super.executeKeyEvent(event);
+    }
+
+    /**
+     * 第 position 个tab的view，虚拟模式下不在可见范围内时返回 null
+     */
+    private TabItem getTab(int position) {
+        if (drawnTabs) {
+            return null;
+        }
+        View view = virtualTabWindow != null ? virtualTabWindow.getTab(position) : tabsContainer.getChildAt(position);
+        return view == null ? null : TabItem.of(view);
+    }
+
+    private float getTabLeft(int position) {
+        return tabPositions.getLeft(position);
+    }
+
+    private float getTabRight(int position) {
+        return tabPositions.getRight(position);
+    }
+
+    private float getTabWidth(int position) {
+        return tabPositions.getWidth(position);
+    }
+
+    private int getViewportWidth() {
+        int width = getWidth();
+        return width > 0 ? width : getResources().getDisplayMetrics().widthPixels;
+    }
+
+    /**
+     * 没有 attach 时记下来，attach 后再刷新
+     */
+    private void requestTabStyles() {
+        if (attachedToWindow) {
+            updateTabStyles();
+        } else {
+            tabStylesPending = true;
+        }
+    }
+
+    /**
+     * 全量刷新所有tab的样式，只在数据或样式属性改变时调用，切换选中用 {@link #updateSelectedTab(int)}
+     */
+    private void updateTabStyles() {
+        tabStylesPending = false;
+        long traceStart = beginSection(TabStripMetrics.SECTION_RESTYLE);
+        restyleTabs();
+        endSection(TabStripMetrics.SECTION_RESTYLE, traceStart);
+    }
+
+    private void restyleTabs() {
+
+        if (pagerSource == null) {
+            // 样式会在 setPagerSource 时应用
+            return;
+        }
+
+        selectedPosition = pagerSource.getCurrentItem();
+
+        if (drawnTabs) {
+            measureDrawnTabs();
+            return;
+        }
+
+        if (virtualTabWindow != null) {
+            // 重新量宽度，已绑定的tab会在 VirtualTabBinder 里重新设置样式
+            virtualTabWindow.remeasure(getScrollX(), getViewportWidth());
+            return;
+        }
+
+        for (int i = 0; i < tabCount; i++) {
+            updateTabStyle(TabItem.of(tabsContainer.getChildAt(i)), i);
+        }
+        emphasizedPosition = currentPosition;
+
+    }
+
+    private void updateTabStyle(TabItem item, int position) {
+        View v = item.view;
+        v.setBackgroundResource(tabBackgroundResId);
+        if (item.getKind() != TabItem.KIND_CUSTOM
+                && (v.getPaddingLeft() != tabPadding || v.getPaddingRight() != tabPadding)) {
+            v.setPadding(tabPadding, 0, tabPadding, 0);
+        }
+
+        TextView tab = item.text;
+        if (tab != null) {
+
+            updateTabSelectStyle(item, position == selectedPosition);
+            updateTextEmphasis(tab, position);
+
+            // setAllCaps() is only available from API 14, so the upper case
+            // is made manually if we are on a
+            // pre-ICS-build
+            if (textAllCaps) {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+                    tab.setAllCaps(true);
+                } else {
+                    tab.setText(tab.getText().toString()
+                            .toUpperCase(locale));
+                }
+            }
+            reserveTabWidth(item, position);
+        }
+    }
+
+    private void reserveTabWidth(TabItem item, int position) {
+        TextView tab = item.text;
+        if (tab == null) {
+            return;
+        }
+        int minWidth = 0;
+        if (stableTabWidth && item.getKind() != TabItem.KIND_CUSTOM) {
+            minWidth = getReservedTextWidth(getDisplayTitle(position))
+                    + tab.getCompoundPaddingLeft() + tab.getCompoundPaddingRight();
+        }
+        if (tab.getMinWidth() != minWidth) {
+            tab.setMinWidth(minWidth);
+        }
+    }
+
+    /**
+     * 固定宽度模式下文字都按大字号、不加粗的字体排版，不含 padding 和图标；假粗体不改变文字宽度
+     */
+    private int getReservedTextWidth(String title) {
+        return TabWidthCache.measure(title, getTabTypeface(false), getMaxTextSize(), 0);
+    }
+
+    /**
+     * 选中改变时只刷新之前选中和新选中的两个tab
+     */
+    private void updateSelectedTab(int position) {
+        if (position == selectedPosition) {
+            return;
+        }
+        if (selectedPosition >= 0 && selectedPosition < tabCount) {
+            updateTabSelectStyle(getTab(selectedPosition), false);
+        }
+        if (position >= 0 && position < tabCount) {
+            updateTabSelectStyle(getTab(position), true);
+        }
+        selectedPosition = position;
+        if (drawnTabs) {
+            invalidate();
+            if (position >= 0 && position < tabCount) {
+                drawnTabAccessibility.sendEvent(position, AccessibilityEvent.TYPE_VIEW_SELECTED);
+            }
+        }
+    }
+
+    /**
+     * 设置选中/未选中的字体大小、颜色和加粗，和当前值一样的属性不再重复设置，避免多余的重新布局
+     */
+    private void updateTabSelectStyle(TabItem item, boolean selected) {
+        if (item == null) {
+            return;
+        }
+        boolean viewSelected = stateListStyle && selected;
+        if (item.view.isSelected() != viewSelected) {
+            item.view.setSelected(viewSelected);
+        }
+        if (item.text == null) {
+            return;
+        }
+        TextView tab = item.text;
+
+        // 固定宽度模式下字号和字体不随选中改变，setTextSize、setTypeface 都会重新布局
+        int textSize = scaleSelectText || stableTabWidth ? getMaxTextSize()
+                : selected ? tabSelectTextSize : tabTextSize;
+        if (tab.getTextSize() != textSize) {
+            tab.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+        }
+
+        // 渐变模式下颜色全由滤镜决定，底色用不透明的颜色，滤镜的透明度才不会被叠加
+        if (stateListStyle && !blendTextColor) {
+            ColorStateList colors = getStateListTextColors();
+            if (tab.getTextColors() != colors) {
+                tab.setTextColor(colors);
+            }
+        } else {
+            int textColor = blendTextColor ? Color.BLACK : selected ? tabTextSelectedColor : tabTextNormalColor;
+            if (tab.getCurrentTextColor() != textColor || tab.getTextColors().isStateful()) {
+                tab.setTextColor(textColor);
+            }
+        }
+
+        Typeface typeface = getTabTypeface(selected && !stableTabWidth);
+        if (tab.getTypeface() != typeface) {
+            tab.setTypeface(typeface);
+        }
+
+        if (stableTabWidth) {
+            boolean fakeBold = selected && mTextBold == TEXT_BOLD_WHEN_SELECT;
+            if (tab.getPaint().isFakeBoldText() != fakeBold) {
+                tab.getPaint().setFakeBoldText(fakeBold);
+                tab.invalidate();
+            }
+            if (!scaleSelectText) {
+                setTextScale(tab, getStableTextScale(selected));
+            }
+        } else if (tab.getPaint().isFakeBoldText()) {
+            tab.getPaint().setFakeBoldText(false);
+            tab.invalidate();
+        }
+    }
+
+    /**
+     * 固定宽度模式下静止时的缩放，字号固定为大的那个
+     */
+    private float getStableTextScale(boolean selected) {
+        return (float) (selected ? tabSelectTextSize : tabTextSize) / getMaxTextSize();
+    }
+
+    /**
+     * 只缩放文字，tab的背景、padding 和图标不变；自定义tab的标题不是 TabTextView，缩放整个标题 view
+     */
+    private static void setTextScale(TextView tab, float scale) {
+        if (tab instanceof TabTextView) {
+            ((TabTextView) tab).setTextScale(scale);
+        } else if (tab.getScaleX() != scale) {
+            tab.setScaleX(scale);
+            tab.setScaleY(scale);
+        }
+    }
+
+    /**
+     * 颜色变了才重新创建，所有tab共用同一个实例
+     */
+    private ColorStateList getStateListTextColors() {
+        if (stateListTextColors == null
+                || stateListTextColors.getDefaultColor() != tabTextNormalColor
+                || stateListTextColors.getColorForState(SELECTED_STATE_SPECS[0], 0) != tabTextSelectedColor) {
+            stateListTextColors = new ColorStateList(SELECTED_STATE_SPECS,
+                    new int[]{tabTextSelectedColor, tabTextNormalColor});
+        }
+        return stateListTextColors;
+    }
+
+    private Typeface getTabTypeface(boolean selected) {
+        boolean bold = mTextBold == TEXT_BOLD_BOTH || mTextBold == TEXT_BOLD_WHEN_SELECT && selected;
+        if (tabTypeface == null) {
+            return bold ? Typeface.DEFAULT_BOLD : Typeface.DEFAULT;
+        }
+        return bold ? boldTabTypeface : tabTypeface;
+    }
+
+    /**
+     * 加粗的字体在设置时建好，画的时候不再创建
+     */
+    private void setTabTypeface(Typeface typeface) {
+        tabTypeface = typeface;
+        boldTabTypeface = typeface == null ? null : Typeface.create(typeface, Typeface.BOLD);
+    }
+
+    private int getMaxTextSize() {
+        return Math.max(tabTextSize, tabSelectTextSize);
+    }
+
+    /**
+     * 选中程度：当前tab是 1 - offset，下一个tab是 offset，其他tab是 0
+     */
+    private float getEmphasis(int position) {
+        if (position == currentPosition) {
+            return 1 - currentPositionOffset;
+        } else if (position == currentPosition + 1) {
+            return currentPositionOffset;
+        }
+        return 0;
+    }
+
+    /**
+     * 按选中程度设置字号缩放和颜色滤镜，都只影响绘制，不会重新布局
+     */
+    private void updateTextEmphasis(TextView tab, int position) {
+        float emphasis = getEmphasis(position);
+
+        float scale = 1f;
+        if (scaleSelectText) {
+            scale = (tabTextSize + (tabSelectTextSize - tabTextSize) * emphasis) / getMaxTextSize();
+        } else if (stableTabWidth) {
+            scale = getStableTextScale(position == selectedPosition);
+        }
+        setTextScale(tab, scale);
+
+        ColorFilter filter = null;
+        if (blendTextColor) {
+            textColorBlender.setColors(tabTextNormalColor, tabTextSelectedColor);
+            filter = textColorBlender.getFilter(emphasis);
+        }
+        if (tab.getPaint().getColorFilter() != filter) {
+            tab.getPaint().setColorFilter(filter);
+            tab.invalidate();
+        }
+    }
+
+    /**
+     * 滑动的每一帧只更新当前和下一个tab，上一帧更新过但已经不在这两个位置的tab恢复原样
+     */
+    private void updateSwipeEmphasis() {
+        if (emphasizedPosition != currentPosition) {
+            updateTextEmphasisAt(emphasizedPosition);
+            updateTextEmphasisAt(emphasizedPosition + 1);
+            emphasizedPosition = currentPosition;
+        }
+        updateTextEmphasisAt(currentPosition);
+        updateTextEmphasisAt(currentPosition + 1);
+    }
+
+    private void updateTextEmphasisAt(int position) {
+        if (position < 0 || position >= tabCount) {
+            return;
+        }
+        TabItem tab = getTab(position);
+        if (tab != null && tab.text != null) {
+            updateTextEmphasis(tab.text, position);
+        }
+    }
+
+    private void scrollToChild(int position, int offset) {
+        long traceStart = beginSection(TabStripMetrics.SECTION_SCROLL);
+        scrollToTab(position, offset);
+        endSection(TabStripMetrics.SECTION_SCROLL, traceStart);
+    }
+
+    private void scrollToTab(int position, int offset) {
+
+        if (tabCount == 0) {
+            return;
+        }
+
+        int newScrollX;
+        if (tabPositions.isRtl()) {
+            // 镜像：tab的右边停在离右边缘 scrollOffset 的地方，往下一个tab滚是往左
+            newScrollX = (int) getTabRight(position) - offset - getWidth();
+            if (position > 0 || offset > 0) {
+                newScrollX += scrollOffset;
+            }
+        } else {
+            newScrollX = (int) getTabLeft(position) + offset;
+            if (position > 0 || offset > 0) {
+                newScrollX -= scrollOffset;
+            }
+        }
+
+        if (newScrollX != lastScrollX) {
+            lastScrollX = newScrollX;
+            scrollTo(newScrollX, 0);
+        }
+
+    }
+
+    /**
+     * 当前位置的指示器，坐标和 onDraw 的 canvas 一样包含滚动距离
+     */
+    private RectF computeIndicatorBounds(RectF out) {
+        // default: line below current tab
+        // if there is an offset, start interpolating left and right coordinates
+        // between current and next tab
+        if (currentPosition < tabCount - 1) {
+            indicatorGeometry.compute(getTabLeft(currentPosition), getTabRight(currentPosition),
+                    getTabLeft(currentPosition + 1), getTabRight(currentPosition + 1), currentPositionOffset);
+        } else {
+            indicatorGeometry.compute(getTabLeft(currentPosition), getTabRight(currentPosition));
+        }
+        int height = getHeight();
+        out.set(indicatorGeometry.getLeft() + getPaddingLeft(), height - indicatorHeight - dividerPaddingBottom,
+                indicatorGeometry.getRight() + getPaddingLeft(), height - dividerPaddingBottom);
+        return out;
+    }
+
+    /**
+     * 滑动时只重绘指示器上次画的位置和新位置的并集，多留一个像素给抗锯齿的边；画出来的标题要跟着变，还是整个重绘
+     *
+     * @return 变化不到 {@link #INDICATOR_INVALIDATE_THRESHOLD} 没有重绘时返回 false
+     */
+    @SuppressWarnings("deprecation")
+    private boolean invalidateIndicator() {
+        if (drawnTabs || !indicatorDrawn) {
+            invalidate();
+            return true;
+        }
+        RectF bounds = computeIndicatorBounds(indicatorBounds);
+        RectF drawn = drawnIndicatorBounds;
+        if (Math.abs(bounds.left - drawn.left) < INDICATOR_INVALIDATE_THRESHOLD
+                && Math.abs(bounds.right - drawn.right) < INDICATOR_INVALIDATE_THRESHOLD
+                && Math.abs(bounds.top - drawn.top) < INDICATOR_INVALIDATE_THRESHOLD
+                && Math.abs(bounds.bottom - drawn.bottom) < INDICATOR_INVALIDATE_THRESHOLD) {
+            return false;
+        }
+        invalidate((int) Math.floor(Math.min(bounds.left, drawn.left)) - 1,
+                (int) Math.floor(Math.min(bounds.top, drawn.top)) - 1,
+                (int) Math.ceil(Math.max(bounds.right, drawn.right)) + 1,
+                (int) Math.ceil(Math.max(bounds.bottom, drawn.bottom)) + 1);
+        return true;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        long traceStart = beginSection(TabStripMetrics.SECTION_DRAW);
+        try {
+            if (isInEditMode() || tabCount == 0) {
+                return;
+            }
+
+            if (drawnTabs) {
+                drawTabTitles(canvas);
+            }
+
+            // draw indicator line
+
+            indicatorRenderer.setColor(indicatorColor);
+
+            RectF bounds = computeIndicatorBounds(indicatorBounds);
+            if (DEBUG) {
+                Log.d(TAG, "indicator width:" + bounds.width());
+            }
+            indicatorRenderer.draw(canvas, bounds.left, bounds.top, bounds.right, bounds.bottom);
+            drawnIndicatorBounds.set(bounds);
+            indicatorDrawn = true;
+        } finally {
+            endSection(TabStripMetrics.SECTION_DRAW, traceStart);
+        }
+
+
+//        canvas.drawRect(lineLeft, height - indicatorHeight, lineRight, height,
+//                rectPaint);
+
+        // draw underline
+
+        // rectPaint.setColor(underlineColor);
+        // canvas.drawRect(0, height - underlineHeight,
+        // tabsContainer.getWidth(), height, rectPaint);
+
+        // draw divider
+
+        // dividerPaint.setColor(dividerColor);
+        // for (int i = 0; i < tabCount - 1; i++) {
+        // View tab = tabsContainer.getChildAt(i);
+        // canvas.drawLine(tab.getRight(), dividerPadding, tab.getRight(),
+        // height - dividerPadding, dividerPaint);
+        // }
+    }
+
+    /**
+     * 布局完成后记录每个tab的位置，位置变了再按新的位置采样下标的伸缩曲线
+     */
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        layingOut = true;
+        super.onLayout(changed, l, t, r, b);
+        layingOut = false;
+        if (virtualTabWindow != null) {
+            updateVirtualTabsInLayout();
+        }
+        updateTabPositions();
+        indicatorGeometry.sampleCurves();
+    }
+
+    /**
+     * 虚拟模式下宽度已经量好，只需要更新第一个tab的位置
+     */
+    private void updateTabPositions() {
+        if (drawnTabs) {
+            tabPositions.setRtl(false);
+            tabPositions.setOrigin(getDrawnTabsOrigin());
+            return;
+        }
+        if (virtualTabWindow != null) {
+            tabPositions.setRtl(virtualTabWindow.isRtl());
+            tabPositions.setOrigin(virtualTabWindow.getOrigin());
+            return;
+        }
+        if (tabsContainer.getChildCount() != tabCount || tabCount == 0) {
+            return;
+        }
+        // 从右往左布局时第一个tab在最右边，位置从它的右边往左累加
+        View firstTab = tabsContainer.getChildAt(0);
+        boolean rtl = tabsContainer.getLayoutDirection() == LAYOUT_DIRECTION_RTL;
+        tabPositions.setRtl(rtl);
+        tabPositions.setOrigin(rtl ? firstTab.getRight() : firstTab.getLeft());
+        for (int i = 0; i < tabCount; i++) {
+            tabPositions.setWidth(i, tabsContainer.getChildAt(i).getWidth());
+        }
+        tabPositions.rebuild();
+    }
+
+    /**
+     * 窗口在布局结束后才按新的大小和滚动位置移动，新加的tab直接在这里量好、摆好，布局过程中不再请求布局
+     */
+    private void updateVirtualTabsInLayout() {
+        if (!virtualTabWindow.update(getScrollX(), getViewportWidth())) {
+            return;
+        }
+        // 窗口移动不改变容器的总宽度
+        tabsContainer.measure(
+                MeasureSpec.makeMeasureSpec(tabsContainer.getMeasuredWidth(), MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(tabsContainer.getMeasuredHeight(), MeasureSpec.EXACTLY));
+        tabsContainer.layout(tabsContainer.getLeft(), tabsContainer.getTop(),
+                tabsContainer.getRight(), tabsContainer.getBottom());
+    }
+
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        // HorizontalScrollView 布局时调整的滚动位置等 onLayout 最后一起处理
+        if (virtualTabWindow != null && !layingOut) {
+            virtualTabWindow.update(l, getViewportWidth());
+        }
+    }
+
+    private class VirtualTabBinder implements VirtualTabWindow.Binder {
+
+        @Override
+        public int getTabType(int position) {
+            return TabItem.viewType(getTabKind(position));
+        }
+
+        @Override
+        public View createTab(int type) {
+            return SlidingTabStrip.this.createTab(type).view;
+        }
+
+        @Override
+        public void bindTab(View tab, int position) {
+            TabItem item = TabItem.of(tab);
+            SlidingTabStrip.this.bindTab(item, position);
+            updateTabStyle(item, position);
+        }
+
+        @Override
+        public int measureTab(int position) {
+            return SlidingTabStrip.this.measureTab(position);
+        }
+    }
+
+    private class DrawnTabHost implements DrawnTabAccessibility.Host {
+
+        @Override
+        public int getTabCount() {
+            return tabCount;
+        }
+
+        @Override
+        public String getTitle(int position) {
+            return titleRenderer.getTitle(position);
+        }
+
+        @Override
+        public boolean isSelected(int position) {
+            return position == selectedPosition;
+        }
+
+        @Override
+        public void getTabBounds(int position, Rect out) {
+            float left = getPaddingLeft() + tabPositions.getLeft(position) - getScrollX();
+            out.set((int) left, 0, (int) (left + tabPositions.getWidth(position)), getHeight());
+        }
+
+        @Override
+        public int getTabAt(float x) {
+            return getDrawnTabAt(x);
+        }
+
+        @Override
+        public void clickTab(int position) {
+            onTabClick(position);
+        }
+    }
+
+    /**
+     * 由子类转给各自类型的 delegatePageListener
+     */
+    void dispatchPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+    }
+
+    void dispatchPageSelected(int position) {
+    }
+
+    void dispatchPageScrollStateChanged(int state) {
+    }
+
+    /**
+     * 记下要滚到的位置，下一个 vsync 再滚
+     */
+    private void postPendingScroll(int position, float positionOffset) {
+        pendingPosition = position;
+        pendingPositionOffset = positionOffset;
+        scrollPending = true;
+        if (!scrollFrameScheduled) {
+            scrollFrameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(scrollFrameCallback);
+        }
+    }
+
+    private void postPendingScroll(float position) {
+        int page = (int) position;
+        postPendingScroll(page, position - page);
+    }
+
+    /**
+     * 按最后一次 onPageScrolled 的位置滚动，下标位置没变时不再 invalidate，变了也只重绘下标所在的区域
+     */
+    void applyPendingScroll() {
+        if (!scrollPending) {
+            return;
+        }
+        scrollPending = false;
+
+        boolean indicatorMoved = pendingPosition != currentPosition
+                || pendingPositionOffset != currentPositionOffset;
+        currentPosition = pendingPosition;
+        currentPositionOffset = pendingPositionOffset;
+
+        scrollToChild(currentPosition, (int) (currentPositionOffset * getTabWidth(currentPosition)));
+
+        if (indicatorMoved) {
+            if (scaleSelectText || blendTextColor) {
+                updateSwipeEmphasis();
+            }
+            if (invalidateIndicator() && metrics != null) {
+                metrics.countInvalidation();
+            }
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        attachedToWindow = true;
+        if (firstLayoutListenerAdded) {
+            getViewTreeObserver().addOnGlobalLayoutListener(firstLayoutListener);
+        }
+        if (pagerPaused) {
+            pagerPaused = false;
+            if (pagerSource != null) {
+                resumePagerSource();
+            }
+        }
+        if (tabStylesPending) {
+            updateTabStyles();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (firstLayoutListenerAdded) {
+            getViewTreeObserver().removeOnGlobalLayoutListener(firstLayoutListener);
+        }
+        attachedToWindow = false;
+        // 不在屏幕上时不跟着 pager 滚动，回调只转给外部监听
+        pagerPaused = true;
+        finishTabClick();
+        if (scrollFrameScheduled) {
+            Choreographer.getInstance().removeFrameCallback(scrollFrameCallback);
+            scrollFrameScheduled = false;
+        }
+        applyPendingScroll();
+    }
+
+    /**
+     * 点击tab后还没走完的拖动或跳转直接让 pager 停到点击的页，不留在中途谁也没选的页上
+     */
+    private void finishTabClick() {
+        int target = -1;
+        if (pageJump.isActive()) {
+            target = pageJump.getTarget();
+        } else if (pageScrollAnimator.isRunning()) {
+            target = pageScrollAnimator.getTargetPosition();
+        }
+        pageScrollAnimator.cancel();
+        cancelPageJump();
+        if (target >= 0 && pagerSource instanceof TabPagerSource.Draggable) {
+            ((TabPagerSource.Draggable) pagerSource).setCurrentItem(target, false);
+        }
+    }
+
+    class PageListener implements TabPagerSource.Callback {
+
+        @Override
+        public void onPageScrolled(int position, float positionOffset,
+                                   int positionOffsetPixels) {
+
+            if (DEBUG) {
+                Log.d(TAG, "position:" + position + ",positionOffset:" + positionOffset + ",positionOffsetPixels:" + positionOffsetPixels);
+            }
+
+            if (pagerPaused) {
+                dispatchPageScrolled(position, positionOffset, positionOffsetPixels);
+                return;
+            }
+            reportedPosition = position + positionOffset;
+            if (pageJump.isActive() && !pageJump.contains(reportedPosition)) {
+                pageJump.end();
+            }
+            if (pageJump.isActive()) {
+                postPendingScroll(pageJump.map(reportedPosition));
+            } else {
+                postPendingScroll(position, positionOffset);
+            }
+
+            dispatchPageScrolled(position, positionOffset, positionOffsetPixels);
+        }
+
+        @Override
+        public void onPageScrollStateChanged(int state) {
+            if (pagerPaused) {
+                dispatchPageScrollStateChanged(state);
+                return;
+            }
+            if (state == TabPagerSource.SCROLL_STATE_IDLE) {
+                // 跳转时 pager 可能先在目标旁边停一下，到了目标才算结束
+                if (!pageJump.isActive() || reportedPosition == pageJump.getTarget()) {
+                    pageJump.end();
+                    applyPendingScroll();
+                    scrollToChild(pagerSource.getCurrentItem(), 0);
+                }
+            } else if (state == TabPagerSource.SCROLL_STATE_DRAGGING && !isFakeDragging()) {
+                // 用户自己拖了 pager
+                cancelPageJump();
+            }
+
+            dispatchPageScrollStateChanged(state);
+        }
+
+        @Override
+        public void onPageSelected(int position) {
+            dispatchPageSelected(position);
+            if (pagerPaused) {
+                return;
+            }
+
+            if (pageJump.isActive() && position != pageJump.getTarget()) {
+                cancelPageJump();
+            }
+            updateSelectedTab(position);
+        }
+
+    }
+
+    public void setIndicatorColor(int indicatorColor) {
+        this.indicatorColor = indicatorColor;
+        invalidate();
+    }
+
+    public void setIndicatorColorResource(int resId) {
+        this.indicatorColor = getResources().getColor(resId);
+        invalidate();
+    }
+
+    public int getIndicatorColor() {
+        return this.indicatorColor;
+    }
+
+    public void setIndicatorHeight(int indicatorLineHeightPx) {
+        this.indicatorHeight = indicatorLineHeightPx;
+        invalidate();
+    }
+
+    public int getIndicatorHeight() {
+        return indicatorHeight;
+    }
+
+    /**
+     * 下标可伸缩（pstsDividerNeedFlex）时左右两边的运动曲线，默认 {@link IndicatorCurve#THREE_PHASE}
+     */
+    public void setFlexCurve(IndicatorCurve curve) {
+        indicatorGeometry.setFlexCurve(curve);
+        invalidate();
+    }
+
+    /**
+     * 用两个 Interpolator 分别控制下标左边和右边的运动
+     */
+    public void setFlexCurve(Interpolator leftInterpolator, Interpolator rightInterpolator) {
+        setFlexCurve(new InterpolatorCurve(leftInterpolator, rightInterpolator));
+    }
+
+    public IndicatorCurve getFlexCurve() {
+        return indicatorGeometry.getFlexCurve();
+    }
+
+    public void setScrollOffset(int scrollOffsetPx) {
+        this.scrollOffset = scrollOffsetPx;
+        invalidate();
+    }
+
+    public int getScrollOffset() {
+        return scrollOffset;
+    }
+
+    /**
+     * 只创建可见范围内的tab，tab很多（几百上千个）时使用
+     */
+    public void setVirtualTabs(boolean virtualTabs) {
+        if (this.virtualTabs == virtualTabs) {
+            return;
+        }
+        this.virtualTabs = virtualTabs;
+        resetTabViews();
+    }
+
+    public boolean isVirtualTabs() {
+        return virtualTabs;
+    }
+
+    /**
+     * 不创建tab的 view，所有标题在 onDraw 里直接画，tab很多又只有文字时 view 数和内存都少得多；
+     * 只画文字，图标、tab背景和 shouldExpand 都不支持，打开后虚拟模式不再起作用
+     */
+    public void setDrawnTabs(boolean drawnTabs) {
+        if (this.drawnTabs == drawnTabs) {
+            return;
+        }
+        this.drawnTabs = drawnTabs;
+        if (drawnTabs && drawnTabAccessibility == null) {
+            drawnTabAccessibility = new DrawnTabAccessibility(this, new DrawnTabHost());
+        }
+        resetTabViews();
+    }
+
+    public boolean isDrawnTabs() {
+        return drawnTabs;
+    }
+
+    /**
+     * 点击tab后翻一页的时长，毫秒；跨多页时按页数的平方根加长，不超过 {@link #setPageScrollMaxDuration(int)}。
+     * 0 表示交给 pager 自己的动画。只对 ViewPager 和 ViewPager2 有效
+     */
+    public void setPageScrollDuration(int durationMillis) {
+        pageScrollAnimator.setDurations(durationMillis, pageScrollAnimator.getMaxDuration());
+    }
+
+    public int getPageScrollDuration() {
+        return pageScrollAnimator.getPageDuration();
+    }
+
+    public void setPageScrollMaxDuration(int durationMillis) {
+        pageScrollAnimator.setDurations(pageScrollAnimator.getPageDuration(), durationMillis);
+    }
+
+    public int getPageScrollMaxDuration() {
+        return pageScrollAnimator.getMaxDuration();
+    }
+
+    /**
+     * 点击的tab离当前页超过 pages 页时，pager 先跳到目标旁边再滚最后一页，tab 栏直接滚到目标；0 表示不跳。
+     * 设置了 {@link #setPageScrollDuration(int)} 时超过一页总是跳
+     */
+    public void setPageJumpThreshold(int pages) {
+        this.pageJumpThreshold = pages;
+    }
+
+    public int getPageJumpThreshold() {
+        return pageJumpThreshold;
+    }
+
+    /**
+     * 点击tab后 pager 的运动曲线，默认减速
+     */
+    public void setPageScrollInterpolator(Interpolator interpolator) {
+        pageScrollAnimator.setInterpolator(interpolator);
+    }
+
+    /**
+     * 切换 tab 的创建方式后丢掉所有已有的tab重新建
+     */
+    private void resetTabViews() {
+        tabsContainer.removeAllViews();
+        tabsContainer.setMinimumWidth(0);
+        virtualTabWindow = virtualTabs && !drawnTabs
+                ? new VirtualTabWindow(tabsContainer, tabPositions, new VirtualTabBinder()) : null;
+        tabKeys.clear();
+        if (pagerSource != null) {
+            updateTabs();
+        }
+    }
+
+    /**
+     * 图标是否在后台线程加载，只影响之后绑定的tab
+     */
+    public void setAsyncIcons(boolean asyncIcons) {
+        this.asyncIcons = asyncIcons;
+    }
+
+    public boolean isAsyncIcons() {
+        return asyncIcons;
+    }
+
+    /**
+     * 打开后统计绘制、滚动、刷新样式和重建tab的耗时（同时输出 Trace），通过 {@link #getMetrics()} 读取
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (!enabled) {
+            metrics = null;
+        } else if (metrics == null) {
+            metrics = new TabStripMetrics();
+        }
+    }
+
+    /**
+     * 没有打开统计时返回 null
+     */
+    public TabStripMetrics getMetrics() {
+        return metrics;
+    }
+
+    private long beginSection(int section) {
+        return metrics == null ? 0 : metrics.begin(section);
+    }
+
+    private void endSection(int section, long start) {
+        if (metrics != null && start != 0) {
+            metrics.end(section, start);
+        }
+    }
+
+    /**
+     * 一次改多个样式，{@link Editor#apply()} 时只刷新一遍所有tab；没有 attach 时等 attach 后再刷新
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    public void setShouldExpand(boolean shouldExpand) {
+        this.shouldExpand = shouldExpand;
+        requestLayout();
+    }
+
+    public boolean getShouldExpand() {
+        return shouldExpand;
+    }
+
+    public boolean isTextAllCaps() {
+        return textAllCaps;
+    }
+
+    public void setAllCaps(boolean textAllCaps) {
+        this.textAllCaps = textAllCaps;
+    }
+
+    public void setTextSize(int textSizePx) {
+        this.tabTextSize = textSizePx;
+        requestTabStyles();
+    }
+
+    public int getTextSize() {
+        return tabTextSize;
+    }
+
+    public void setSelectTextSize(int textSizePx) {
+        this.tabSelectTextSize = textSizePx;
+        requestTabStyles();
+    }
+
+    public int getSelectTextSize() {
+        return tabSelectTextSize;
+    }
+
+    /**
+     * 选中字号跟随滑动平滑缩放，tab宽度按大的字号预留，滑动中不会重新布局
+     */
+    public void setScaleSelectText(boolean scaleSelectText) {
+        if (this.scaleSelectText == scaleSelectText) {
+            return;
+        }
+        this.scaleSelectText = scaleSelectText;
+        requestTabStyles();
+    }
+
+    public boolean isScaleSelectText() {
+        return scaleSelectText;
+    }
+
+    /**
+     * 文字颜色跟随滑动在未选中和选中颜色之间渐变
+     */
+    public void setBlendTextColor(boolean blendTextColor) {
+        if (this.blendTextColor == blendTextColor) {
+            return;
+        }
+        this.blendTextColor = blendTextColor;
+        requestTabStyles();
+    }
+
+    public boolean isBlendTextColor() {
+        return blendTextColor;
+    }
+
+    /**
+     * 选中样式用 selected 状态表示，选中改变时只切换两个tab的 setSelected；tab背景可以用带 state_selected 的 selector
+     */
+    public void setStateListStyle(boolean stateListStyle) {
+        if (this.stateListStyle == stateListStyle) {
+            return;
+        }
+        this.stateListStyle = stateListStyle;
+        requestTabStyles();
+    }
+
+    public boolean isStateListStyle() {
+        return stateListStyle;
+    }
+
+    /**
+     * 文字tab固定用大字号排版并预留宽度，选中的字号用缩放、加粗用假粗体表现，选中改变时不会重新布局，也不会挤动其他tab
+     */
+    public void setStableTabWidth(boolean stableTabWidth) {
+        if (this.stableTabWidth == stableTabWidth) {
+            return;
+        }
+        this.stableTabWidth = stableTabWidth;
+        requestTabStyles();
+    }
+
+    public boolean isStableTabWidth() {
+        return stableTabWidth;
+    }
+
+    /**
+     * 未选中的文字颜色，选中的颜色不变
+     */
+    public void setTextColor(int textColor) {
+        this.tabTextNormalColor = textColor;
+        requestTabStyles();
+    }
+
+    public void setTextColor(int textNormalColor, int textSelectedColor) {
+        this.tabTextNormalColor = textNormalColor;
+        this.tabTextSelectedColor = textSelectedColor;
+        requestTabStyles();
+    }
+
+    public void setTextColorResource(int resId) {
+        this.tabTextNormalColor = getResources().getColor(resId);
+        requestTabStyles();
+    }
+
+    public int getTextColor() {
+        return tabTextNormalColor;
+    }
+
+    public void setTypeface(Typeface typeface) {
+        setTabTypeface(typeface);
+        requestTabStyles();
+    }
+
+    public void setTabBackground(int resId) {
+        this.tabBackgroundResId = resId;
+    }
+
+    public int getTabBackground() {
+        return tabBackgroundResId;
+    }
+
+    public void setTabPaddingLeftRight(int paddingPx) {
+        this.tabPadding = paddingPx;
+        indicatorGeometry.setTabPadding(paddingPx);
+        requestTabStyles();
+    }
+
+    public int getTabPaddingLeftRight() {
+        return tabPadding;
+    }
+
+    @Override
+    public void onRestoreInstanceState(Parcelable state) {
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        currentPosition = savedState.currentPosition;
+        requestLayout();
+    }
+
+    @Override
+    public Parcelable onSaveInstanceState() {
+        Parcelable superState = super.onSaveInstanceState();
+        SavedState savedState = new SavedState(superState);
+        savedState.currentPosition = currentPosition;
+        return savedState;
+    }
+
+    /**
+     * 样式修改的事务，调用 {@link #apply()} 前不生效
+     */
+    public final class Editor {
+
+        private static final int TEXT_SIZE = 1;
+        private static final int SELECT_TEXT_SIZE = 1 << 1;
+        private static final int TEXT_COLOR = 1 << 2;
+        private static final int COLORS = 1 << 3;
+        private static final int TYPEFACE = 1 << 4;
+        private static final int TAB_PADDING = 1 << 5;
+        private static final int TAB_BACKGROUND = 1 << 6;
+        private static final int ALL_CAPS = 1 << 7;
+        private static final int INDICATOR_COLOR = 1 << 8;
+
+        private int changes;
+        private int textSize;
+        private int selectTextSize;
+        private int textColor;
+        private int normalColor;
+        private int selectedColor;
+        private Typeface typeface;
+        private int tabPadding;
+        private int tabBackgroundResId;
+        private boolean allCaps;
+        private int indicatorColor;
+
+        private Editor() {
+        }
+
+        public Editor textSize(int textSizePx) {
+            textSize = textSizePx;
+            changes |= TEXT_SIZE;
+            return this;
+        }
+
+        public Editor selectTextSize(int textSizePx) {
+            selectTextSize = textSizePx;
+            changes |= SELECT_TEXT_SIZE;
+            return this;
+        }
+
+        /**
+         * 未选中的文字颜色，同 {@link SlidingTabStrip#setTextColor(int)}
+         */
+        public Editor textColor(int textColor) {
+            this.textColor = textColor;
+            changes |= TEXT_COLOR;
+            return this;
+        }
+
+        /**
+         * 未选中和选中的文字颜色
+         */
+        public Editor colors(int normalColor, int selectedColor) {
+            this.normalColor = normalColor;
+            this.selectedColor = selectedColor;
+            changes |= COLORS;
+            return this;
+        }
+
+        public Editor typeface(Typeface typeface) {
+            this.typeface = typeface;
+            changes |= TYPEFACE;
+            return this;
+        }
+
+        public Editor tabPaddingLeftRight(int paddingPx) {
+            tabPadding = paddingPx;
+            changes |= TAB_PADDING;
+            return this;
+        }
+
+        public Editor tabBackground(int resId) {
+            tabBackgroundResId = resId;
+            changes |= TAB_BACKGROUND;
+            return this;
+        }
+
+        public Editor allCaps(boolean textAllCaps) {
+            allCaps = textAllCaps;
+            changes |= ALL_CAPS;
+            return this;
+        }
+
+        public Editor indicatorColor(int indicatorColor) {
+            this.indicatorColor = indicatorColor;
+            changes |= INDICATOR_COLOR;
+            return this;
+        }
+
+        /**
+         * 只改了下标颜色时只重画，其它修改一起刷新一遍tab
+         */
+        public void apply() {
+            if ((changes & TEXT_SIZE) != 0) {
+                tabTextSize = textSize;
+            }
+            if ((changes & SELECT_TEXT_SIZE) != 0) {
+                tabSelectTextSize = selectTextSize;
+            }
+            if ((changes & TEXT_COLOR) != 0) {
+                tabTextNormalColor = textColor;
+            }
+            if ((changes & COLORS) != 0) {
+                tabTextNormalColor = normalColor;
+                tabTextSelectedColor = selectedColor;
+            }
+            if ((changes & TYPEFACE) != 0) {
+                setTabTypeface(typeface);
+            }
+            if ((changes & TAB_PADDING) != 0) {
+                SlidingTabStrip.this.tabPadding = tabPadding;
+                indicatorGeometry.setTabPadding(tabPadding);
+            }
+            if ((changes & TAB_BACKGROUND) != 0) {
+                SlidingTabStrip.this.tabBackgroundResId = tabBackgroundResId;
+            }
+            if ((changes & ALL_CAPS) != 0) {
+                textAllCaps = allCaps;
+            }
+            if ((changes & INDICATOR_COLOR) != 0) {
+                SlidingTabStrip.this.indicatorColor = indicatorColor;
+            }
+            boolean restyle = (changes & ~INDICATOR_COLOR) != 0;
+            changes = 0;
+            if (restyle) {
+                requestTabStyles();
+            }
+            invalidate();
+        }
+    }
+
+    static class SavedState extends BaseSavedState {
+        int currentPosition;
+
+        public SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            currentPosition = in.readInt();
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            super.writeToParcel(dest, flags);
+            dest.writeInt(currentPosition);
+        }
+
+        public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+}
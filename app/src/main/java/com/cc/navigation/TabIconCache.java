@@ -0,0 +1,134 @@
+package com.cc.navigation;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.core.content.res.ResourcesCompat;
+
+/**
+ * Process-wide LRU cache of tab icon {@link Drawable.ConstantState}s keyed by resource id and
+ * density, shared by every strip so an icon is decoded once however many strips and rebuilds
+ * show it.
+ * <p>
+ * Bounded by the estimated bitmap bytes of the cached icons, trimmed on
+ * {@link ComponentCallbacks2#onTrimMemory(int)}. Safe to use from the icon loader thread.
+ */
+final class TabIconCache {
+
+    private static final int MAX_BYTES = (int) Math.min(4 * 1024 * 1024, Runtime.getRuntime().maxMemory() / 32);
+
+    private static final LruCache<Long, Entry> CACHE = new LruCache<Long, Entry>(MAX_BYTES) {
+        @Override
+        protected int sizeOf(Long key, Entry entry) {
+            return entry.bytes;
+        }
+    };
+
+    private static boolean registered;
+
+    private TabIconCache() {
+    }
+
+    /**
+     * Starts following the app's memory callbacks, once per process.
+     */
+    static synchronized void register(Context context) {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                trimMemory(level);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                CACHE.evictAll();
+            }
+        });
+    }
+
+    /**
+     * A new drawable sharing the cached state, {@code null} if the icon is not cached.
+     */
+    static Drawable get(Resources resources, int iconRes) {
+        Entry entry = CACHE.get(key(resources, iconRes));
+        return entry == null ? null : entry.state.newDrawable(resources);
+    }
+
+    /**
+     * The cached icon, decoding and caching it on a miss.
+     */
+    static Drawable load(Resources resources, int iconRes) {
+        Drawable cached = get(resources, iconRes);
+        if (cached != null) {
+            return cached;
+        }
+        Drawable drawable = ResourcesCompat.getDrawable(resources, iconRes, null);
+        Drawable.ConstantState state = drawable.getConstantState();
+        if (state != null) {
+            CACHE.put(key(resources, iconRes), new Entry(state, estimateBytes(drawable)));
+        }
+        return drawable;
+    }
+
+    static void trimMemory(int level) {
+        // 界面不可见或者内存紧张时全部清掉，只是偏紧时清掉一半
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            CACHE.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            CACHE.trimToSize(CACHE.maxSize() / 2);
+        }
+    }
+
+    static int size() {
+        return CACHE.size();
+    }
+
+    static int hitCount() {
+        return CACHE.hitCount();
+    }
+
+    static void clear() {
+        CACHE.evictAll();
+    }
+
+    private static long key(Resources resources, int iconRes) {
+        return ((long) resources.getDisplayMetrics().densityDpi << 32) | (iconRes & 0xFFFFFFFFL);
+    }
+
+    private static int estimateBytes(Drawable drawable) {
+        if (drawable instanceof BitmapDrawable) {
+            Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
+            if (bitmap != null) {
+                return bitmap.getRowBytes() * bitmap.getHeight();
+            }
+        }
+        // 矢量图等按 ARGB_8888 的渲染大小估算
+        int width = Math.max(1, drawable.getIntrinsicWidth());
+        int height = Math.max(1, drawable.getIntrinsicHeight());
+        return width * height * 4;
+    }
+
+    private static final class Entry {
+        final Drawable.ConstantState state;
+        final int bytes;
+
+        Entry(Drawable.ConstantState state, int bytes) {
+            this.state = state;
+            this.bytes = bytes;
+        }
+    }
+}
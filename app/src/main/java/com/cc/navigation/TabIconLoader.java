@@ -0,0 +1,76 @@
+package com.cc.navigation;
+
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.view.View;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decodes tab icons on a shared background thread and hands them back on the main thread.
+ * <p>
+ * The decoded drawable is delivered for the tab and icon it was requested for; the callback
+ * must check the tab still shows that icon, since tabs are reused while a load is running.
+ */
+final class TabIconLoader {
+
+    interface Callback {
+        /**
+         * @param drawable {@code null} if the resource could not be loaded
+         */
+        void onIconLoaded(View tab, int iconRes, Drawable drawable);
+    }
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+    private static ExecutorService executor;
+
+    private TabIconLoader() {
+    }
+
+    static void load(final Resources resources, final View tab, final int iconRes, final Callback callback) {
+        executor().execute(new Runnable() {
+            @Override
+            public void run() {
+                Drawable drawable;
+                try {
+                    drawable = TabIconCache.load(resources, iconRes);
+                } catch (Resources.NotFoundException e) {
+                    drawable = null;
+                }
+                final Drawable loaded = drawable;
+                MAIN.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onIconLoaded(tab, iconRes, loaded);
+                    }
+                });
+            }
+        });
+    }
+
+    private static synchronized Executor executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "PagerSlidingTabStrip-icons");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+}
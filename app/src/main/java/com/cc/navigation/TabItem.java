@@ -0,0 +1,121 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.view.Gravity;
+import android.view.View;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+/**
+ * A tab view together with its kind, so the strip reaches the parts it styles without casting
+ * the view.
+ * <p>
+ * Text and icon+text tabs are a {@link TabTextView} with the icon as a compound drawable, icon tabs
+ * an {@link ImageButton}, and custom tabs whatever view {@link TabPagerSource.CustomTabs}
+ * created; a custom tab gets the text styling on its {@code android.R.id.text1} TextView, if
+ * it has one. Where a tab is comes from the strip's {@link TabPositions}, the same for every
+ * kind. The item is kept as a tag of its view, see {@link #of(View)}.
+ */
+final class TabItem {
+
+    static final int KIND_TEXT = 0;
+    static final int KIND_ICON = 1;
+    static final int KIND_ICON_TEXT = 2;
+    static final int KIND_CUSTOM = 3;
+
+    final View view;
+    /**
+     * The text the strip styles, {@code null} for icon tabs and custom tabs without one.
+     */
+    final TextView text;
+    private final ImageButton icon;
+    private int kind;
+
+    private TabItem(int kind, View view, TextView text, ImageButton icon) {
+        this.kind = kind;
+        this.view = view;
+        this.text = text;
+        this.icon = icon;
+        view.setTag(R.id.psts_tab_item, this);
+    }
+
+    static TabItem createText(Context context) {
+        TextView text = new TabTextView(context);
+        text.setGravity(Gravity.CENTER);
+        text.setSingleLine();
+        return new TabItem(KIND_TEXT, text, text, null);
+    }
+
+    static TabItem createIcon(Context context) {
+        ImageButton icon = new ImageButton(context);
+        return new TabItem(KIND_ICON, icon, null, icon);
+    }
+
+    static TabItem wrapCustom(View view) {
+        View text = view.findViewById(android.R.id.text1);
+        return new TabItem(KIND_CUSTOM, view, text instanceof TextView ? (TextView) text : null, null);
+    }
+
+    /**
+     * The item of a view created by this class.
+     */
+    static TabItem of(View view) {
+        return (TabItem) view.getTag(R.id.psts_tab_item);
+    }
+
+    /**
+     * Kinds sharing a view type can reuse each other's views: text and icon+text tabs are
+     * both a TextView.
+     */
+    static int viewType(int kind) {
+        return kind == KIND_ICON_TEXT ? KIND_TEXT : kind;
+    }
+
+    int getKind() {
+        return kind;
+    }
+
+    /**
+     * Switches between the kinds of the same {@link #viewType(int)} when the view is rebound.
+     */
+    void setKind(int kind) {
+        if (viewType(kind) != viewType(this.kind)) {
+            throw new IllegalArgumentException("kind " + kind + " can't reuse a tab of kind " + this.kind);
+        }
+        this.kind = kind;
+    }
+
+    /**
+     * @param gravity where a text tab shows the icon, one of {@link Gravity#START},
+     *                {@link Gravity#END}, {@link Gravity#TOP} and {@link Gravity#BOTTOM}
+     */
+    void setIcon(Drawable drawable, int gravity, int padding) {
+        if (icon != null) {
+            icon.setImageDrawable(drawable);
+            return;
+        }
+        if (kind == KIND_CUSTOM) {
+            return;
+        }
+        text.setCompoundDrawablePadding(padding);
+        switch (gravity) {
+            case Gravity.START:
+                text.setCompoundDrawablesRelative(drawable, null, null, null);
+                break;
+            case Gravity.END:
+                text.setCompoundDrawablesRelative(null, null, drawable, null);
+                break;
+            case Gravity.TOP:
+                text.setCompoundDrawablesRelative(null, drawable, null, null);
+                break;
+            case Gravity.BOTTOM:
+                text.setCompoundDrawablesRelative(null, null, null, drawable);
+                break;
+        }
+    }
+
+    void clearIcon() {
+        setIcon(null, Gravity.START, 0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.cc.navigation;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * What {@link SlidingTabStrip} needs from a pager: the tabs to show, the current page and
+ * the scroll events to follow.
+ * <p>
+ * {@link ViewPagerSource} and {@link ViewPager2Source} adapt the two AndroidX pagers,
+ * {@link ManualPagerSource} is driven directly by the app.
+ */
+public interface TabPagerSource {
+
+    int SCROLL_STATE_IDLE = 0;
+    int SCROLL_STATE_DRAGGING = 1;
+    int SCROLL_STATE_SETTLING = 2;
+
+    interface Callback {
+        void onPageScrolled(int position, float positionOffset, int positionOffsetPixels);
+
+        void onPageSelected(int position);
+
+        void onPageScrollStateChanged(int state);
+    }
+
+    void registerCallback(Callback callback);
+
+    void unregisterCallback(Callback callback);
+
+    int getCount();
+
+    int getCurrentItem();
+
+    void setCurrentItem(int position);
+
+    /**
+     * Title of the tab, empty for icon-only tabs.
+     */
+    String getPageTitle(int position);
+
+    /**
+     * Icon of the tab, 0 for none.
+     */
+    int getPageIconResId(int position);
+
+    /**
+     * Identity of the tab across data set changes, used to reuse its view.
+     */
+    Object getPageKey(int position);
+
+    /**
+     * A source whose pager can be moved by code like a drag, which lets the strip animate tab
+     * clicks with its own duration and curve instead of the pager's fixed scroller.
+     */
+    interface Draggable {
+
+        /**
+         * Pixels between two neighboring pages, 0 before the pager is laid out.
+         */
+        int getPageSize();
+
+        int getCurrentItem();
+
+        void setCurrentItem(int position, boolean smoothScroll);
+
+        boolean beginFakeDrag();
+
+        /**
+         * @param offset pixels to drag by, positive towards the previous page
+         */
+        void fakeDragBy(float offset);
+
+        void endFakeDrag();
+
+        boolean isFakeDragging();
+    }
+
+    /**
+     * A source with tabs of its own views next to the text and icon ones. The tabs go through
+     * the same click, background and selection handling; a TextView with id
+     * {@code android.R.id.text1} in the view is styled like a text tab. Not used in the drawn
+     * tab mode, which has no tab views.
+     */
+    interface CustomTabs {
+
+        boolean isCustomTab(int position);
+
+        View createTabView(ViewGroup parent);
+
+        /**
+         * Shows the tab at {@code position} in a view from {@link #createTabView(ViewGroup)},
+         * which may have shown another tab before.
+         */
+        void bindTabView(View tab, int position);
+    }
+}
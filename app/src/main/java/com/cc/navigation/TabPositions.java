@@ -0,0 +1,127 @@
+package com.cc.navigation;
+
+/**
+ * Tab widths with their running sum and centers, so any tab's left, right or
+ * center is an array read, even when the tab has no view.
+ * <p>
+ * Lefts are accumulated from the first tab; {@link #setOrigin(float)} moves the
+ * whole table to where the first tab sits in the tabs container. In a right-to-left
+ * table the first tab is the rightmost one and the origin is its right edge.
+ */
+final class TabPositions {
+
+    private int count;
+    private float origin;
+    private boolean rtl;
+    private float[] widths = new float[0];
+    /**
+     * lefts[i] 是第 i 个tab的左边，lefts[count] 是总宽度
+     */
+    private float[] lefts = new float[1];
+    private float[] centers = new float[0];
+
+    /**
+     * Resizes the table, widths of new tabs are 0 until set; lefts and centers are rebuilt.
+     */
+    void setCount(int count) {
+        if (widths.length < count) {
+            float[] newWidths = new float[count];
+            System.arraycopy(widths, 0, newWidths, 0, Math.min(this.count, count));
+            widths = newWidths;
+            lefts = new float[count + 1];
+            centers = new float[count];
+        }
+        for (int i = this.count; i < count; i++) {
+            widths[i] = 0;
+        }
+        this.count = count;
+        rebuild();
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    void setOrigin(float origin) {
+        this.origin = origin;
+    }
+
+    float getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Tabs run from the origin leftwards, the way a right-to-left LinearLayout places them.
+     */
+    void setRtl(boolean rtl) {
+        this.rtl = rtl;
+    }
+
+    boolean isRtl() {
+        return rtl;
+    }
+
+    void setWidth(int position, float width) {
+        widths[position] = width;
+    }
+
+    /**
+     * Recomputes lefts and centers after widths changed.
+     */
+    void rebuild() {
+        lefts[0] = 0;
+        for (int i = 0; i < count; i++) {
+            lefts[i + 1] = lefts[i] + widths[i];
+            centers[i] = lefts[i] + widths[i] / 2;
+        }
+    }
+
+    float getWidth(int position) {
+        return widths[position];
+    }
+
+    float getLeft(int position) {
+        return rtl ? origin - lefts[position + 1] : origin + lefts[position];
+    }
+
+    float getRight(int position) {
+        return rtl ? origin - lefts[position] : origin + lefts[position + 1];
+    }
+
+    float getCenter(int position) {
+        return rtl ? origin - centers[position] : origin + centers[position];
+    }
+
+    /**
+     * Distance from the start edge of the first tab to the start edge of {@code position},
+     * ignoring the origin and the direction.
+     */
+    float getOffset(int position) {
+        return lefts[position];
+    }
+
+    float getTotalWidth() {
+        return lefts[count];
+    }
+
+    /**
+     * The tab {@code x} past the start edge of the first tab, clamped to the first and last tab.
+     */
+    int indexAt(float x) {
+        if (count == 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (lefts[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+}
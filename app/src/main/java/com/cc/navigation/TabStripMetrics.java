@@ -0,0 +1,143 @@
+package com.cc.navigation;
+
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.Trace;
+
+/**
+ * Opt-in timings and counters of a {@link SlidingTabStrip}, see
+ * {@link SlidingTabStrip#setMetricsEnabled(boolean)}.
+ * <p>
+ * Every timed section is also an {@link Trace} section named {@code PSTS.<section>}, so it
+ * shows up in systrace / Perfetto. Recording is allocation free. Nothing here is synchronized:
+ * the strip updates the live instance on the main thread, so call {@link #snapshot(TabStripMetrics)}
+ * on the main thread too (for example from a posted runnable) and hand the copy to another thread
+ * only after it is filled.
+ */
+public final class TabStripMetrics {
+
+    /**
+     * {@code onDraw} of the strip.
+     */
+    public static final int SECTION_DRAW = 0;
+    /**
+     * Following the pager by scrolling the strip.
+     */
+    public static final int SECTION_SCROLL = 1;
+    /**
+     * Restyling all tabs after a style change.
+     */
+    public static final int SECTION_RESTYLE = 2;
+    /**
+     * Rebuilding the tabs after {@code setViewPager} or a data set change.
+     */
+    public static final int SECTION_REBUILD = 3;
+
+    private static final int SECTION_COUNT = 4;
+
+    private static final String[] TRACE_NAMES = {
+            "PSTS.draw", "PSTS.scroll", "PSTS.restyle", "PSTS.rebuild"
+    };
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[SECTION_COUNT];
+    private boolean traceEnabled = true;
+    private long tabsBound;
+    private long invalidations;
+    private long startMillis;
+    private long snapshotMillis;
+
+    public TabStripMetrics() {
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        startMillis = SystemClock.uptimeMillis();
+    }
+
+    /**
+     * Emit {@link Trace} sections along with the timings, on by default.
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+    }
+
+    public boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+
+    public LatencyHistogram getHistogram(int section) {
+        return histograms[section];
+    }
+
+    /**
+     * Tabs bound to data, counting both created and reused views.
+     */
+    public long getTabsBound() {
+        return tabsBound;
+    }
+
+    /**
+     * Invalidations the strip requested while following the pager.
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Invalidations per second since the last {@link #reset()}, up to now for the live
+     * instance or up to the snapshot time for a snapshot.
+     */
+    public float getInvalidationsPerSecond() {
+        long end = snapshotMillis != 0 ? snapshotMillis : SystemClock.uptimeMillis();
+        long elapsed = end - startMillis;
+        return elapsed <= 0 ? 0 : invalidations * 1000f / elapsed;
+    }
+
+    public void reset() {
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            histograms[i].reset();
+        }
+        tabsBound = 0;
+        invalidations = 0;
+        startMillis = SystemClock.uptimeMillis();
+        snapshotMillis = 0;
+    }
+
+    /**
+     * Copies the current values into {@code target} without allocating. Must be called on the
+     * main thread, the thread the strip records on.
+     */
+    public void snapshot(TabStripMetrics target) {
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            histograms[i].copyTo(target.histograms[i]);
+        }
+        target.tabsBound = tabsBound;
+        target.invalidations = invalidations;
+        target.startMillis = startMillis;
+        target.snapshotMillis = SystemClock.uptimeMillis();
+    }
+
+    /**
+     * @return start time to pass to {@link #end(int, long)}
+     */
+    long begin(int section) {
+        if (traceEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(TRACE_NAMES[section]);
+        }
+        return System.nanoTime();
+    }
+
+    void end(int section, long start) {
+        histograms[section].record(System.nanoTime() - start);
+        if (traceEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+    }
+
+    void countTabBound() {
+        tabsBound++;
+    }
+
+    void countInvalidation() {
+        invalidations++;
+    }
+}
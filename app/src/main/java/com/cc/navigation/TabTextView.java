@@ -0,0 +1,87 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.text.TextPaint;
+import android.widget.TextView;
+
+/**
+ * The TextView of text and icon+text tabs, which can draw its glyphs smaller than its text size.
+ * <p>
+ * The scale only changes the paint while the view draws, so measuring and the text layout keep
+ * the full text size and nothing is laid out again. Unlike {@link #setScaleX(float)} it leaves
+ * the background, the padding and the compound icon alone; the smaller text stays centered.
+ */
+final class TabTextView extends TextView {
+
+    private float textScale = 1f;
+    private Drawable iconStart;
+    private Drawable iconTop;
+    private Drawable iconEnd;
+    private Drawable iconBottom;
+
+    TabTextView(Context context) {
+        super(context);
+    }
+
+    void setTextScale(float textScale) {
+        if (this.textScale != textScale) {
+            this.textScale = textScale;
+            invalidate();
+        }
+    }
+
+    float getTextScale() {
+        return textScale;
+    }
+
+    @Override
+    public void setCompoundDrawablesRelative(Drawable start, Drawable top, Drawable end, Drawable bottom) {
+        super.setCompoundDrawablesRelative(start, top, end, bottom);
+        iconStart = start;
+        iconTop = top;
+        iconEnd = end;
+        iconBottom = bottom;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (textScale == 1f) {
+            super.onDraw(canvas);
+            return;
+        }
+        TextPaint paint = getPaint();
+        float textSize = paint.getTextSize();
+        // 缩小的字和原来的字在同一条基线上，往上挪两者字高中线的差才保持垂直居中
+        int dy = Math.round((paint.ascent() + paint.descent()) / 2 * (1 - textScale));
+        paint.setTextSize(textSize * textScale);
+        // 图标跟着画布一起挪了，反方向挪回去
+        offsetIcons(-dy);
+        canvas.save();
+        canvas.translate(0, dy);
+        try {
+            super.onDraw(canvas);
+        } finally {
+            canvas.restore();
+            offsetIcons(dy);
+            paint.setTextSize(textSize);
+        }
+    }
+
+    private void offsetIcons(int dy) {
+        offset(iconStart, dy);
+        offset(iconTop, dy);
+        offset(iconEnd, dy);
+        offset(iconBottom, dy);
+    }
+
+    private static void offset(Drawable icon, int dy) {
+        if (icon == null || dy == 0) {
+            return;
+        }
+        Rect bounds = icon.getBounds();
+        icon.setBounds(bounds.left, bounds.top + dy, bounds.right, bounds.bottom + dy);
+    }
+}
@@ -0,0 +1,62 @@
+package com.cc.navigation;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+
+/**
+ * Draws tab titles straight onto the strip's canvas for the drawn tab mode, where tabs
+ * have no views.
+ * <p>
+ * Titles are kept as the final strings (already upper cased if needed) and drawn centered
+ * on their tab with one shared paint; the text layout itself is cached by the platform's
+ * glyph and layout caches, so a frame does no measuring and allocates nothing.
+ */
+final class TabTitleRenderer {
+
+    private final TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private String[] titles = new String[0];
+
+    TabTitleRenderer() {
+        paint.setTextAlign(Paint.Align.CENTER);
+    }
+
+    void setCount(int count) {
+        if (titles.length != count) {
+            titles = new String[count];
+        }
+    }
+
+    void setTitle(int position, String title) {
+        titles[position] = title;
+    }
+
+    String getTitle(int position) {
+        return titles[position];
+    }
+
+    /**
+     * Draws the title of {@code position} centered on ({@code centerX}, {@code centerY}),
+     * scaled around that point by {@code scale}.
+     */
+    void draw(Canvas canvas, int position, float centerX, float centerY,
+              float textSize, float scale, Typeface typeface, int color) {
+        String title = titles[position];
+        if (title == null || title.isEmpty()) {
+            return;
+        }
+        paint.setTextSize(textSize);
+        paint.setTypeface(typeface);
+        paint.setColor(color);
+        float baseline = centerY - (paint.ascent() + paint.descent()) / 2;
+        if (scale != 1f) {
+            canvas.save();
+            canvas.scale(scale, scale, centerX, centerY);
+            canvas.drawText(title, centerX, baseline, paint);
+            canvas.restore();
+        } else {
+            canvas.drawText(title, centerX, baseline, paint);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.cc.navigation;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.util.LruCache;
+
+/**
+ * Process-wide LRU cache of text tab widths, measured with {@link Paint#measureText(String)}
+ * once per (title, typeface, text size, padding).
+ * <p>
+ * Used from the main thread only; the lookup key and paint are reused between calls.
+ */
+final class TabWidthCache {
+
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final LruCache<Key, Integer> CACHE = new LruCache<>(MAX_ENTRIES);
+    private static final Key LOOKUP = new Key();
+    private static final TextPaint PAINT = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+    private TabWidthCache() {
+    }
+
+    /**
+     * Width of a single line tab showing {@code title}, including left and right padding.
+     */
+    static int measure(String title, Typeface typeface, float textSize, int padding) {
+        LOOKUP.set(title, typeface, textSize, padding);
+        Integer width = CACHE.get(LOOKUP);
+        if (width != null) {
+            return width;
+        }
+        PAINT.setTypeface(typeface);
+        PAINT.setTextSize(textSize);
+        width = (int) Math.ceil(PAINT.measureText(title)) + padding * 2;
+        CACHE.put(new Key().set(title, typeface, textSize, padding), width);
+        return width;
+    }
+
+    static int hitCount() {
+        return CACHE.hitCount();
+    }
+
+    static void clear() {
+        CACHE.evictAll();
+    }
+
+    private static final class Key {
+        String title;
+        Typeface typeface;
+        float textSize;
+        int padding;
+
+        Key set(String title, Typeface typeface, float textSize, int padding) {
+            this.title = title;
+            this.typeface = typeface;
+            this.textSize = textSize;
+            this.padding = padding;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return textSize == key.textSize && padding == key.padding
+                    && typeface == key.typeface && title.equals(key.title);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = title.hashCode();
+            result = 31 * result + (typeface != null ? typeface.hashCode() : 0);
+            result = 31 * result + Float.floatToIntBits(textSize);
+            result = 31 * result + padding;
+            return result;
+        }
+    }
+
+}
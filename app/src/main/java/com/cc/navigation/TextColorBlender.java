@@ -0,0 +1,75 @@
+package com.cc.navigation;
+
+import android.graphics.ColorFilter;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+
+/**
+ * Blends the tab text between the normal and the selected color while swiping, without
+ * {@code setTextColor} per frame.
+ * <p>
+ * The blend is a {@link PorterDuff.Mode#SRC_IN} color filter on the text paint, which recolors
+ * the glyphs at draw time and leaves the text layout alone. The colors of {@link #STEPS} + 1
+ * evenly spaced blend fractions and their filters are built once per color pair, so a frame
+ * only looks one up. Tabs drawn through a filter should use an opaque base text color, the
+ * filter keeps its alpha.
+ */
+final class TextColorBlender {
+
+    static final int STEPS = 64;
+
+    private final int[] colors = new int[STEPS + 1];
+    private final ColorFilter[] filters = new ColorFilter[STEPS + 1];
+    private int normalColor;
+    private int selectedColor;
+    private boolean built;
+
+    void setColors(int normalColor, int selectedColor) {
+        if (built && this.normalColor == normalColor && this.selectedColor == selectedColor) {
+            return;
+        }
+        this.normalColor = normalColor;
+        this.selectedColor = selectedColor;
+        for (int i = 0; i <= STEPS; i++) {
+            colors[i] = lerp(normalColor, selectedColor, (float) i / STEPS);
+            filters[i] = new PorterDuffColorFilter(colors[i], PorterDuff.Mode.SRC_IN);
+        }
+        built = true;
+    }
+
+    /**
+     * @param fraction 0 for the normal color, 1 for the selected one
+     */
+    int getColor(float fraction) {
+        return colors[index(fraction)];
+    }
+
+    ColorFilter getFilter(float fraction) {
+        return filters[index(fraction)];
+    }
+
+    private static int index(float fraction) {
+        if (fraction <= 0) {
+            return 0;
+        }
+        if (fraction >= 1) {
+            return STEPS;
+        }
+        return (int) (fraction * STEPS + 0.5f);
+    }
+
+    /**
+     * Per channel linear interpolation of two ARGB colors.
+     */
+    static int lerp(int from, int to, float fraction) {
+        int a = lerpChannel(from >>> 24, to >>> 24, fraction);
+        int r = lerpChannel((from >> 16) & 0xFF, (to >> 16) & 0xFF, fraction);
+        int g = lerpChannel((from >> 8) & 0xFF, (to >> 8) & 0xFF, fraction);
+        int b = lerpChannel(from & 0xFF, to & 0xFF, fraction);
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    private static int lerpChannel(int from, int to, float fraction) {
+        return Math.round(from + (to - from) * fraction);
+    }
+}
@@ -0,0 +1,149 @@
+package com.cc.navigation;
+
+import android.text.TextUtils;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
+
+/**
+ * {@link TabPagerSource} over a {@link ViewPager2}; titles and icons come from an adapter
+ * implementing {@link PagerSlidingTabStrip2.TextTabProvider} or
+ * {@link PagerSlidingTabStrip2.IconTabProvider}, icons taking precedence.
+ */
+final class ViewPager2Source extends ViewPager2.OnPageChangeCallback
+        implements TabPagerSource, TabPagerSource.Draggable {
+
+    private final ViewPager2 pager;
+    private Callback callback;
+
+    ViewPager2Source(ViewPager2 pager) {
+        this.pager = pager;
+    }
+
+    @Override
+    public void registerCallback(Callback callback) {
+        if (this.callback == null) {
+            pager.registerOnPageChangeCallback(this);
+        }
+        this.callback = callback;
+    }
+
+    @Override
+    public void unregisterCallback(Callback callback) {
+        if (this.callback == callback) {
+            pager.unregisterOnPageChangeCallback(this);
+            this.callback = null;
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return pager.getAdapter().getItemCount();
+    }
+
+    @Override
+    public int getCurrentItem() {
+        return pager.getCurrentItem();
+    }
+
+    @Override
+    public void setCurrentItem(int position) {
+        pager.setCurrentItem(position);
+    }
+
+    /**
+     * 竖直方向的 pager 按高度算
+     */
+    @Override
+    public int getPageSize() {
+        if (pager.getOrientation() == ViewPager2.ORIENTATION_VERTICAL) {
+            return pager.getHeight() - pager.getPaddingTop() - pager.getPaddingBottom();
+        }
+        return pager.getWidth() - pager.getPaddingLeft() - pager.getPaddingRight();
+    }
+
+    /**
+     * ViewPager2 不允许在假拖动时切换页面，先结束拖动
+     */
+    @Override
+    public void setCurrentItem(int position, boolean smoothScroll) {
+        if (pager.isFakeDragging()) {
+            pager.endFakeDrag();
+        }
+        pager.setCurrentItem(position, smoothScroll);
+    }
+
+    @Override
+    public boolean beginFakeDrag() {
+        return pager.beginFakeDrag();
+    }
+
+    /**
+     * 横向的 ViewPager2 在 RTL 布局下假拖动的方向是反的，传进来的距离按 LTR 算，这里翻过来
+     */
+    @Override
+    public void fakeDragBy(float offset) {
+        pager.fakeDragBy(isReversedDrag() ? -offset : offset);
+    }
+
+    private boolean isReversedDrag() {
+        return pager.getOrientation() == ViewPager2.ORIENTATION_HORIZONTAL
+                && pager.getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
+    }
+
+    @Override
+    public void endFakeDrag() {
+        pager.endFakeDrag();
+    }
+
+    @Override
+    public boolean isFakeDragging() {
+        return pager.isFakeDragging();
+    }
+
+    @Override
+    public String getPageTitle(int position) {
+        RecyclerView.Adapter<?> adapter = pager.getAdapter();
+        if (!(adapter instanceof PagerSlidingTabStrip2.IconTabProvider)
+                && adapter instanceof PagerSlidingTabStrip2.TextTabProvider) {
+            return ((PagerSlidingTabStrip2.TextTabProvider) adapter).getPageTitle(position);
+        }
+        return "";
+    }
+
+    @Override
+    public int getPageIconResId(int position) {
+        if (pager.getAdapter() instanceof PagerSlidingTabStrip2.IconTabProvider) {
+            return ((PagerSlidingTabStrip2.IconTabProvider) pager.getAdapter()).getPageIconResId(position);
+        }
+        return 0;
+    }
+
+    /**
+     * adapter 有稳定 id 时用 id，否则用标题或图标
+     */
+    @Override
+    public Object getPageKey(int position) {
+        if (pager.getAdapter().hasStableIds()) {
+            return pager.getAdapter().getItemId(position);
+        }
+        String title = getPageTitle(position);
+        return TextUtils.isEmpty(title) ? (Object) getPageIconResId(position) : title;
+    }
+
+    @Override
+    public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        callback.onPageScrolled(position, positionOffset, positionOffsetPixels);
+    }
+
+    @Override
+    public void onPageSelected(int position) {
+        callback.onPageSelected(position);
+    }
+
+    @Override
+    public void onPageScrollStateChanged(int state) {
+        callback.onPageScrollStateChanged(state);
+    }
+}
@@ -0,0 +1,124 @@
+package com.cc.navigation;
+
+import androidx.viewpager.widget.PagerAdapter;
+import androidx.viewpager.widget.ViewPager;
+
+/**
+ * {@link TabPagerSource} over a {@link ViewPager}; tabs are icons when the adapter is a
+ * {@link PagerSlidingTabStrip.IconTabProvider}, its page titles otherwise.
+ */
+final class ViewPagerSource implements TabPagerSource, TabPagerSource.Draggable,
+        ViewPager.OnPageChangeListener {
+
+    private final ViewPager pager;
+    private Callback callback;
+
+    ViewPagerSource(ViewPager pager) {
+        this.pager = pager;
+    }
+
+    @Override
+    public void registerCallback(Callback callback) {
+        if (this.callback == null) {
+            pager.addOnPageChangeListener(this);
+        }
+        this.callback = callback;
+    }
+
+    @Override
+    public void unregisterCallback(Callback callback) {
+        if (this.callback == callback) {
+            pager.removeOnPageChangeListener(this);
+            this.callback = null;
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return pager.getAdapter().getCount();
+    }
+
+    @Override
+    public int getCurrentItem() {
+        return pager.getCurrentItem();
+    }
+
+    @Override
+    public void setCurrentItem(int position) {
+        pager.setCurrentItem(position);
+    }
+
+    @Override
+    public int getPageSize() {
+        return pager.getWidth() - pager.getPaddingLeft() - pager.getPaddingRight() + pager.getPageMargin();
+    }
+
+    @Override
+    public void setCurrentItem(int position, boolean smoothScroll) {
+        pager.setCurrentItem(position, smoothScroll);
+    }
+
+    @Override
+    public boolean beginFakeDrag() {
+        return pager.beginFakeDrag();
+    }
+
+    @Override
+    public void fakeDragBy(float offset) {
+        pager.fakeDragBy(offset);
+    }
+
+    @Override
+    public void endFakeDrag() {
+        pager.endFakeDrag();
+    }
+
+    @Override
+    public boolean isFakeDragging() {
+        return pager.isFakeDragging();
+    }
+
+    @Override
+    public String getPageTitle(int position) {
+        PagerAdapter adapter = pager.getAdapter();
+        if (adapter instanceof PagerSlidingTabStrip.IconTabProvider) {
+            return "";
+        }
+        CharSequence title = adapter.getPageTitle(position);
+        return title == null ? "" : title.toString();
+    }
+
+    @Override
+    public int getPageIconResId(int position) {
+        if (pager.getAdapter() instanceof PagerSlidingTabStrip.IconTabProvider) {
+            return ((PagerSlidingTabStrip.IconTabProvider) pager.getAdapter()).getPageIconResId(position);
+        }
+        return 0;
+    }
+
+    /**
+     * 图标tab用图标资源，文字tab用标题
+     */
+    @Override
+    public Object getPageKey(int position) {
+        if (pager.getAdapter() instanceof PagerSlidingTabStrip.IconTabProvider) {
+            return getPageIconResId(position);
+        }
+        return getPageTitle(position);
+    }
+
+    @Override
+    public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        callback.onPageScrolled(position, positionOffset, positionOffsetPixels);
+    }
+
+    @Override
+    public void onPageSelected(int position) {
+        callback.onPageSelected(position);
+    }
+
+    @Override
+    public void onPageScrollStateChanged(int state) {
+        callback.onPageScrollStateChanged(state);
+    }
+}
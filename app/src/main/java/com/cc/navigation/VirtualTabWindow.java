@@ -0,0 +1,266 @@
+package com.cc.navigation;
+
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import java.util.ArrayDeque;
+
+/**
+ * Keeps only the tabs inside the visible scroll window (plus a few on each side)
+ * attached to the tabs container.
+ * <p>
+ * Every tab is measured once into the strip's {@link TabPositions}; the detached tabs on either
+ * side are replaced by two spacer views, so the container keeps its full width and
+ * scrolling and the indicator still see every tab's position. Tabs leaving the
+ * window go to a scrap pool per tab type and are rebound for the tabs entering it; the tabs
+ * that stay in the window are never detached, only the spacers change width.
+ */
+final class VirtualTabWindow {
+
+    /**
+     * Returned by {@link Binder#measureTab(int)} to measure a bound scrap view instead.
+     */
+    static final int MEASURE_WITH_VIEW = -1;
+
+    /**
+     * 可见范围两边多保留的tab数
+     */
+    private static final int EXTRA_TABS = 2;
+
+    interface Binder {
+        int getTabType(int position);
+
+        View createTab(int type);
+
+        void bindTab(View tab, int position);
+
+        /**
+         * Width of the tab in px, or {@link #MEASURE_WITH_VIEW}.
+         */
+        int measureTab(int position);
+    }
+
+    private final LinearLayout container;
+    private final Binder binder;
+    private final View leadingSpace;
+    private final View trailingSpace;
+
+    private final TabPositions positions;
+    private final SparseArray<View> activeTabs = new SparseArray<>();
+    private final SparseIntArray activeTypes = new SparseIntArray();
+    private final SparseArray<ArrayDeque<View>> scrapTabs = new SparseArray<>();
+
+    private int firstPosition = 0;
+    private int lastPosition = -1;
+
+    VirtualTabWindow(LinearLayout container, TabPositions positions, Binder binder) {
+        this.container = container;
+        this.positions = positions;
+        this.binder = binder;
+        leadingSpace = new View(container.getContext());
+        leadingSpace.setLayoutParams(new LinearLayout.LayoutParams(0, ViewGroup.LayoutParams.MATCH_PARENT));
+        trailingSpace = new View(container.getContext());
+        trailingSpace.setLayoutParams(new LinearLayout.LayoutParams(0, ViewGroup.LayoutParams.MATCH_PARENT));
+    }
+
+    /**
+     * Drops all bound tabs into the scrap pool; call {@link #remeasure(int, int)} afterwards.
+     */
+    void setTabCount(int count) {
+        for (int i = activeTabs.size() - 1; i >= 0; i--) {
+            scrap(activeTabs.valueAt(i), activeTypes.valueAt(i));
+        }
+        activeTabs.clear();
+        activeTypes.clear();
+        container.removeAllViews();
+        firstPosition = 0;
+        lastPosition = -1;
+        positions.setCount(count);
+    }
+
+    int getTabCount() {
+        return positions.getCount();
+    }
+
+    /**
+     * Measures every tab again, e.g. after a text size or padding change, and rebinds the window.
+     */
+    void remeasure(int scrollX, int viewportWidth) {
+        int count = positions.getCount();
+        for (int i = 0; i < count; i++) {
+            int width = binder.measureTab(i);
+            if (width == MEASURE_WITH_VIEW) {
+                width = measureWithView(i);
+            }
+            positions.setWidth(i, width);
+        }
+        positions.rebuild();
+
+        for (int i = activeTabs.size() - 1; i >= 0; i--) {
+            View tab = activeTabs.valueAt(i);
+            int position = activeTabs.keyAt(i);
+            binder.bindTab(tab, position);
+            setWidth(tab, (int) positions.getWidth(position));
+        }
+        updateSpaces();
+        update(scrollX, viewportWidth);
+    }
+
+    /**
+     * Binds the tabs around {@code [scrollX, scrollX + viewportWidth)}, does nothing if the
+     * window did not move past a tab boundary.
+     *
+     * @return whether tabs were added or removed, the container then has to be laid out again
+     */
+    boolean update(int scrollX, int viewportWidth) {
+        int count = positions.getCount();
+        if (count == 0) {
+            return false;
+        }
+        // 从右往左布局时tab从原点往左排，窗口按离原点的距离换算
+        float x = isRtl() ? getOrigin() - scrollX - viewportWidth : scrollX - getOrigin();
+        int first = Math.max(0, positions.indexAt(x) - EXTRA_TABS);
+        int last = Math.min(count - 1, positions.indexAt(x + viewportWidth) + EXTRA_TABS);
+        if (first == firstPosition && last == lastPosition) {
+            return false;
+        }
+
+        if (leadingSpace.getParent() == null) {
+            container.addView(leadingSpace);
+            container.addView(trailingSpace);
+        }
+        // 两次窗口重叠的tab留在原处，只增删两头进出窗口的tab
+        int keptFirst = Math.max(first, firstPosition);
+        int keptLast = Math.min(last, lastPosition);
+        if (keptFirst > keptLast) {
+            removeTabs(firstPosition, lastPosition);
+            addTabs(first, last, 1);
+        } else {
+            removeTabs(firstPosition, keptFirst - 1);
+            removeTabs(keptLast + 1, lastPosition);
+            addTabs(first, keptFirst - 1, 1);
+            addTabs(keptLast + 1, last, container.getChildCount() - 1);
+        }
+        firstPosition = first;
+        lastPosition = last;
+        updateSpaces();
+        return true;
+    }
+
+    /**
+     * Unbinds the consecutive tabs {@code from..to}, which are next to each other in the container.
+     */
+    private void removeTabs(int from, int to) {
+        if (from > to) {
+            return;
+        }
+        container.removeViews(container.indexOfChild(activeTabs.get(from)), to - from + 1);
+        for (int position = from; position <= to; position++) {
+            scrap(activeTabs.get(position), activeTypes.get(position));
+            activeTabs.remove(position);
+            activeTypes.delete(position);
+        }
+    }
+
+    /**
+     * Binds the tabs {@code from..to} and adds them to the container starting at {@code index}.
+     */
+    private void addTabs(int from, int to, int index) {
+        for (int position = from; position <= to; position++) {
+            int type = binder.getTabType(position);
+            View tab = obtain(type);
+            binder.bindTab(tab, position);
+            activeTabs.put(position, tab);
+            activeTypes.put(position, type);
+            container.addView(tab, index++, layoutParams(tab, (int) positions.getWidth(position)));
+        }
+    }
+
+    /**
+     * The spacers stand in for the unbound tabs before and after the window.
+     */
+    private void updateSpaces() {
+        if (firstPosition > lastPosition) {
+            return;
+        }
+        setWidth(leadingSpace, (int) positions.getOffset(firstPosition));
+        setWidth(trailingSpace, (int) (positions.getTotalWidth() - positions.getOffset(lastPosition + 1)));
+    }
+
+    /**
+     * The bound view of a tab, {@code null} when it is outside the window.
+     */
+    View getTab(int position) {
+        return activeTabs.get(position);
+    }
+
+    int getBoundTabCount() {
+        return activeTabs.size();
+    }
+
+    /**
+     * Left of the first tab in the container, non-zero when the container centers a short strip;
+     * in a right-to-left container the first tab is the rightmost one and this is its right edge.
+     */
+    int getOrigin() {
+        if (leadingSpace.getParent() == null) {
+            return 0;
+        }
+        return isRtl() ? leadingSpace.getRight() : leadingSpace.getLeft();
+    }
+
+    /**
+     * The container inherits the strip's layout direction and places the tabs right to left.
+     */
+    boolean isRtl() {
+        return container.getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
+    }
+
+    private int measureWithView(int position) {
+        int type = binder.getTabType(position);
+        View tab = obtain(type);
+        binder.bindTab(tab, position);
+        int unspecified = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        tab.measure(unspecified, unspecified);
+        scrap(tab, type);
+        return tab.getMeasuredWidth();
+    }
+
+    private View obtain(int type) {
+        ArrayDeque<View> scrap = scrapTabs.get(type);
+        if (scrap != null && !scrap.isEmpty()) {
+            return scrap.pop();
+        }
+        return binder.createTab(type);
+    }
+
+    private void scrap(View tab, int type) {
+        ArrayDeque<View> scrap = scrapTabs.get(type);
+        if (scrap == null) {
+            scrap = new ArrayDeque<>();
+            scrapTabs.put(type, scrap);
+        }
+        scrap.push(tab);
+    }
+
+    private static void setWidth(View view, int width) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (params.width != width) {
+            params.width = width;
+            view.setLayoutParams(params);
+        }
+    }
+
+    private static LinearLayout.LayoutParams layoutParams(View tab, int width) {
+        ViewGroup.LayoutParams params = tab.getLayoutParams();
+        if (params instanceof LinearLayout.LayoutParams) {
+            params.width = width;
+            return (LinearLayout.LayoutParams) params;
+        }
+        return new LinearLayout.LayoutParams(width, ViewGroup.LayoutParams.MATCH_PARENT);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.cc.navigation;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Fails a test when a hot path allocates on the calling thread.
+ * <p>
+ * Uses the HotSpot per-thread allocation counter of the host JVM, so it only works
+ * for JVM tests (Robolectric), not on a device.
+ */
+final class AllocationGuard {
+
+    private static final int WARM_UP = 500;
+    /**
+     * One-off allocations (class init, JIT deoptimization) can land in any single round,
+     * a real per-frame allocation shows up in all of them.
+     */
+    private static final int ROUNDS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Bytes allocated inside a frame by code the hot path is not to blame for, e.g. a
+     * Robolectric shadow that a device does not run.
+     */
+    interface Exclusion {
+        long excludedBytes();
+    }
+
+    private AllocationGuard() {
+    }
+
+    /**
+     * Runs {@code frame} {@code frames} times after a warm up and fails if anything was allocated.
+     */
+    static void assertNoAllocation(String what, int frames, Runnable frame) {
+        assertAllocationAtMost(what, 0, frames, frame);
+    }
+
+    /**
+     * Like {@link #assertNoAllocation(String, int, Runnable)}, allowing {@code bytesPerFrame}
+     * on average for paths that legitimately allocate, e.g. binding recycled tabs.
+     */
+    static void assertAllocationAtMost(String what, long bytesPerFrame, int frames, Runnable frame) {
+        assertAllocationAtMost(what, bytesPerFrame, frames, frame, NOTHING_EXCLUDED);
+    }
+
+    static void assertAllocationAtMost(String what, long bytesPerFrame, int frames, Runnable frame,
+                                       Exclusion exclusion) {
+        for (int i = 0; i < WARM_UP; i++) {
+            frame.run();
+        }
+        long overhead = allocatedBytes(frames, EMPTY);
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long excluded = exclusion.excludedBytes();
+            long bytes = allocatedBytes(frames, frame) - overhead;
+            allocated = Math.min(allocated, bytes - (exclusion.excludedBytes() - excluded));
+        }
+        if (allocated > bytesPerFrame * frames) {
+            fail(what + " allocated " + allocated + " bytes in " + frames + " frames");
+        }
+    }
+
+    static long allocatedBytes(int frames, Runnable frame) {
+        long before = threadAllocatedBytes();
+        for (int i = 0; i < frames; i++) {
+            frame.run();
+        }
+        return threadAllocatedBytes() - before;
+    }
+
+    /**
+     * Total bytes allocated by the calling thread so far.
+     */
+    static long threadAllocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static final Exclusion NOTHING_EXCLUDED = new Exclusion() {
+        @Override
+        public long excludedBytes() {
+            return 0;
+        }
+    };
+
+    private static final Runnable EMPTY = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+}
@@ -0,0 +1,152 @@
+package com.cc.navigation;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * notifyDataSetChanged keeps the tabs whose key did not change and coalesces bursts.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DataSetChangeTest {
+
+    private Activity activity;
+
+    @Before
+    public void setUp() {
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+    }
+
+    @Test
+    public void renamedTabIsTheOnlyNewView() {
+        String[] titles = TestPagers.titles(10);
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(activity);
+        strip.setViewPager(TestPagers.viewPager(activity, titles));
+        activity.setContentView(strip);
+        View[] before = tabs(strip);
+
+        titles[3] = "Renamed";
+        strip.notifyDataSetChanged();
+        ShadowLooper.idleMainLooper();
+        View[] after = tabs(strip);
+
+        for (int i = 0; i < 10; i++) {
+            if (i == 3) {
+                assertNotSame(before[i], after[i]);
+            } else {
+                assertSame(before[i], after[i]);
+            }
+        }
+        assertEquals("Renamed", TabStyleTest.tab(strip, 3).getText().toString());
+    }
+
+    @Test
+    public void insertedTabShiftsExistingViews() {
+        TestPagers.TitleAdapter adapter = new TestPagers.TitleAdapter(TestPagers.titles(5));
+        androidx.viewpager.widget.ViewPager pager = new androidx.viewpager.widget.ViewPager(activity);
+        pager.setAdapter(adapter);
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(activity);
+        strip.setViewPager(pager);
+        activity.setContentView(strip);
+        View[] before = tabs(strip);
+
+        adapter.titles = new String[]{"New", "Tab 0", "Tab 1", "Tab 2", "Tab 3", "Tab 4"};
+        strip.notifyDataSetChanged();
+        ShadowLooper.idleMainLooper();
+        View[] after = tabs(strip);
+
+        assertEquals(6, after.length);
+        for (int i = 0; i < 5; i++) {
+            assertSame(before[i], after[i + 1]);
+        }
+    }
+
+    @Test
+    public void stableIdsRebindTitleInPlace() {
+        String[] titles = TestPagers.titles(10);
+        TestPagers.TitleAdapter2 adapter = new TestPagers.TitleAdapter2(titles);
+        adapter.setHasStableIds(true);
+        androidx.viewpager2.widget.ViewPager2 pager = new androidx.viewpager2.widget.ViewPager2(activity);
+        pager.setAdapter(adapter);
+        PagerSlidingTabStrip2 strip = new PagerSlidingTabStrip2(activity);
+        strip.setViewPager(pager);
+        activity.setContentView(strip);
+        View[] before = tabs(strip);
+
+        titles[3] = "Renamed";
+        strip.notifyDataSetChanged();
+        ShadowLooper.idleMainLooper();
+
+        assertSame(before[3], TabStyleTest.tab(strip, 3));
+        assertEquals("Renamed", TabStyleTest.tab(strip, 3).getText().toString());
+    }
+
+    @Test
+    public void keptTabsFollowShouldExpand() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(activity);
+        strip.setViewPager(TestPagers.viewPager(activity, TestPagers.titles(3)));
+        activity.setContentView(strip);
+        View[] before = tabs(strip);
+
+        strip.setShouldExpand(true);
+        strip.notifyDataSetChanged();
+        ShadowLooper.idleMainLooper();
+        TestPagers.layout(strip);
+
+        View[] after = tabs(strip);
+        for (int i = 0; i < 3; i++) {
+            assertSame(before[i], after[i]);
+            assertEquals(1f, ((LinearLayout.LayoutParams) after[i].getLayoutParams()).weight, 0f);
+        }
+        assertEquals(TestPagers.STRIP_WIDTH, after[2].getRight());
+
+        strip.setShouldExpand(false);
+        strip.notifyDataSetChanged();
+        ShadowLooper.idleMainLooper();
+
+        assertEquals(0f, ((LinearLayout.LayoutParams) tabs(strip)[0].getLayoutParams()).weight, 0f);
+    }
+
+    @Test
+    public void burstOfNotificationsIsAppliedOnce() {
+        String[] titles = TestPagers.titles(10);
+        TestPagers.CountingStrip strip = new TestPagers.CountingStrip(activity);
+        strip.setViewPager(TestPagers.viewPager(activity, titles));
+        activity.setContentView(strip);
+        ShadowLooper.idleMainLooper();
+        int posts = strip.posts;
+
+        titles[0] = "A";
+        strip.notifyDataSetChanged();
+        titles[0] = "B";
+        strip.notifyDataSetChanged();
+        titles[0] = "C";
+        strip.notifyDataSetChanged();
+        assertEquals("Tab 0", TabStyleTest.tab(strip, 0).getText().toString());
+        assertEquals(1, strip.posts - posts);
+
+        ShadowLooper.idleMainLooper();
+        assertEquals("C", TabStyleTest.tab(strip, 0).getText().toString());
+    }
+
+    private static View[] tabs(ViewGroup strip) {
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        View[] tabs = new View[container.getChildCount()];
+        for (int i = 0; i < tabs.length; i++) {
+            tabs[i] = container.getChildAt(i);
+        }
+        return tabs;
+    }
+}
@@ -0,0 +1,162 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeProvider;
+
+import androidx.viewpager.widget.ViewPager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drawn tab mode creates no tab views: titles are drawn in {@code onDraw}, taps are
+ * hit-tested against the position table and the tabs are virtual accessibility nodes.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DrawnTabsTest {
+
+    private static final int TABS = 1000;
+
+    private Context context;
+    private PagerSlidingTabStrip strip;
+    private ViewPager pager;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        strip = new PagerSlidingTabStrip(context);
+        strip.setDrawnTabs(true);
+        pager = TestPagers.viewPager(context, TestPagers.titles(TABS));
+        strip.setViewPager(pager);
+        TestPagers.layout(strip);
+    }
+
+    @Test
+    public void createsNoTabViews() {
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        assertEquals(0, container.getChildCount());
+        assertEquals((int) Math.ceil(strip.tabPositions.getTotalWidth()), container.getWidth());
+        for (int i = 0; i < TABS; i++) {
+            assertTrue(strip.tabPositions.getWidth(i) > 0);
+        }
+    }
+
+    @Test
+    public void drawsOnlyVisibleTitles() {
+        TestPagers.TitleCanvas canvas = new TestPagers.TitleCanvas();
+        strip.onDraw(canvas);
+
+        assertEquals("Tab 0", canvas.titles.get(0));
+        assertTrue("drew " + canvas.titles.size(), canvas.titles.size() < 100);
+        assertEquals(1, canvas.indicatorDraws);
+    }
+
+    @Test
+    public void tapSelectsTheTabUnderTheFinger() {
+        float x = strip.getPaddingLeft() + strip.tabPositions.getCenter(3) - strip.getScrollX();
+
+        touch(MotionEvent.ACTION_DOWN, x);
+        touch(MotionEvent.ACTION_UP, x);
+
+        assertEquals(3, pager.getCurrentItem());
+    }
+
+    @Test
+    public void dragIsNotATap() {
+        float x = strip.getPaddingLeft() + strip.tabPositions.getCenter(3) - strip.getScrollX();
+
+        touch(MotionEvent.ACTION_DOWN, x);
+        touch(MotionEvent.ACTION_MOVE, x + 200);
+        touch(MotionEvent.ACTION_UP, x + 200);
+
+        assertEquals(0, pager.getCurrentItem());
+    }
+
+    @Test
+    public void selectionDoesNotLayOut() {
+        strip.pageListener.onPageSelected(5);
+
+        assertFalse(strip.isLayoutRequested());
+    }
+
+    @Test
+    public void tabsAreAccessibilityNodes() {
+        AccessibilityNodeProvider provider = strip.getAccessibilityNodeProvider();
+
+        AccessibilityNodeInfo selected = provider.createAccessibilityNodeInfo(0);
+        AccessibilityNodeInfo tab = provider.createAccessibilityNodeInfo(3);
+
+        assertTrue(selected.isSelected());
+        assertEquals("Tab 3", tab.getText().toString());
+        assertTrue(tab.isClickable());
+        assertFalse(tab.isSelected());
+        Rect bounds = new Rect();
+        tab.getBoundsInParent(bounds);
+        assertEquals((int) strip.tabPositions.getWidth(3), bounds.width());
+    }
+
+    @Test
+    public void clickingANodeSelectsItsPage() {
+        strip.getAccessibilityNodeProvider().performAction(3, AccessibilityNodeInfo.ACTION_CLICK, null);
+
+        assertEquals(3, pager.getCurrentItem());
+        assertTrue(strip.getAccessibilityNodeProvider().createAccessibilityNodeInfo(3).isSelected());
+    }
+
+    @Test
+    public void tapPerformsClick() {
+        final int[] clicks = new int[1];
+        strip.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                clicks[0]++;
+            }
+        });
+        float x = strip.getPaddingLeft() + strip.tabPositions.getCenter(3) - strip.getScrollX();
+
+        touch(MotionEvent.ACTION_DOWN, x);
+        touch(MotionEvent.ACTION_UP, x);
+
+        assertEquals(1, clicks[0]);
+        assertEquals(3, pager.getCurrentItem());
+    }
+
+    @Test
+    public void arrowKeysMoveTheSelection() {
+        assertFalse(strip.executeKeyEvent(new KeyEvent(KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_LEFT)));
+
+        assertTrue(strip.executeKeyEvent(new KeyEvent(KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_RIGHT)));
+        assertTrue(strip.executeKeyEvent(new KeyEvent(KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_RIGHT)));
+
+        assertEquals(2, pager.getCurrentItem());
+    }
+
+    @Test
+    public void tabViewsNeedNoProvider() {
+        strip.setDrawnTabs(false);
+
+        assertNull(strip.getAccessibilityNodeProvider());
+    }
+
+    private void touch(int action, float x) {
+        long now = SystemClock.uptimeMillis();
+        MotionEvent event = MotionEvent.obtain(now, now, action, x, TestPagers.STRIP_HEIGHT / 2f, 0);
+        strip.onTouchEvent(event);
+        event.recycle();
+    }
+}
@@ -0,0 +1,161 @@
+package com.cc.navigation;
+
+import android.content.Context;
+
+import androidx.viewpager.widget.ViewPager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@code onDraw} and {@code onPageScrolled} run on every animation frame and must not allocate.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HotPathAllocationTest {
+
+    private static final int FRAMES = 2000;
+    private static final int FRAMES_PER_PAGE = 60;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void viewPagerStripDrawsWithoutAllocating() {
+        final PagerSlidingTabStrip strip = new TestPagers.CountingStrip(context);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(20)));
+        TestPagers.layout(strip);
+
+        final TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+        AllocationGuard.assertNoAllocation("onDraw", FRAMES, new Swipe(20) {
+            @Override
+            void frame(int position, float offset) {
+                strip.pageListener.onPageScrolled(position, offset, 0);
+                strip.applyPendingScroll();
+                strip.onDraw(canvas);
+            }
+        });
+        assertTrue(canvas.indicatorDraws > 0);
+    }
+
+    @Test
+    public void iconStripDrawsTheIndicatorWithoutAllocating() {
+        int[] icons = {android.R.drawable.star_on, android.R.drawable.star_off, android.R.drawable.ic_menu_add};
+        final PagerSlidingTabStrip strip = new TestPagers.CountingStrip(context);
+        strip.setAsyncIcons(false);
+        ViewPager pager = new ViewPager(context);
+        pager.setAdapter(new TestPagers.IconAdapter(icons));
+        strip.setViewPager(pager);
+        TestPagers.layout(strip);
+
+        final TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+        AllocationGuard.assertNoAllocation("onDraw", FRAMES, new Swipe(icons.length) {
+            @Override
+            void frame(int position, float offset) {
+                strip.pageListener.onPageScrolled(position, offset, 0);
+                strip.applyPendingScroll();
+                strip.onDraw(canvas);
+            }
+        });
+        assertTrue(canvas.indicatorDraws > 0);
+    }
+
+    @Test
+    public void viewPagerStripScrollsWithoutAllocating() {
+        final PagerSlidingTabStrip strip = new TestPagers.CountingStrip(context);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(20)));
+        TestPagers.layout(strip);
+
+        AllocationGuard.assertNoAllocation("onPageScrolled", FRAMES, new Swipe(20) {
+            @Override
+            void frame(int position, float offset) {
+                strip.pageListener.onPageScrolled(position, offset, 0);
+                strip.applyPendingScroll();
+            }
+        });
+    }
+
+    @Test
+    public void viewPager2StripDrawsWithoutAllocating() {
+        final PagerSlidingTabStrip2 strip = new TestPagers.CountingStrip2(context);
+        strip.setViewPager(TestPagers.viewPager2(context, TestPagers.titles(20)));
+        TestPagers.layout(strip);
+
+        final TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+        AllocationGuard.assertNoAllocation("onDraw", FRAMES, new Swipe(20) {
+            @Override
+            void frame(int position, float offset) {
+                strip.pageListener.onPageScrolled(position, offset, 0);
+                strip.applyPendingScroll();
+                strip.onDraw(canvas);
+            }
+        });
+        assertTrue(canvas.indicatorDraws > 0);
+    }
+
+    @Test
+    public void viewPager2StripScrollsWithoutAllocating() {
+        final PagerSlidingTabStrip2 strip = new TestPagers.CountingStrip2(context);
+        strip.setViewPager(TestPagers.viewPager2(context, TestPagers.titles(20)));
+        TestPagers.layout(strip);
+
+        AllocationGuard.assertNoAllocation("onPageScrolled", FRAMES, new Swipe(20) {
+            @Override
+            void frame(int position, float offset) {
+                strip.pageListener.onPageScrolled(position, offset, 0);
+                strip.applyPendingScroll();
+            }
+        });
+    }
+
+    @Test
+    public void metricsDoNotAllocate() {
+        final PagerSlidingTabStrip strip = new TestPagers.CountingStrip(context);
+        strip.setMetricsEnabled(true);
+        // Robolectric's Trace shadow allocates per section, the framework one does not
+        strip.getMetrics().setTraceEnabled(false);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(20)));
+        TestPagers.layout(strip);
+
+        final TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+        AllocationGuard.assertNoAllocation("onDraw with metrics", FRAMES, new Swipe(20) {
+            @Override
+            void frame(int position, float offset) {
+                strip.pageListener.onPageScrolled(position, offset, 0);
+                strip.applyPendingScroll();
+                strip.onDraw(canvas);
+            }
+        });
+        assertTrue(strip.getMetrics().getHistogram(TabStripMetrics.SECTION_DRAW).getCount() > 0);
+    }
+
+    /**
+     * Walks the pager forward through every page, {@link #FRAMES_PER_PAGE} frames per page.
+     */
+    private abstract static class Swipe implements Runnable {
+        private final int pages;
+        private int frame;
+
+        Swipe(int pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public void run() {
+            int position = (frame / FRAMES_PER_PAGE) % (pages - 1);
+            float offset = (float) (frame % FRAMES_PER_PAGE) / FRAMES_PER_PAGE;
+            frame++;
+            frame(position, offset);
+        }
+
+        abstract void frame(int position, float offset);
+    }
+}
@@ -0,0 +1,212 @@
+package com.cc.navigation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Indicator edges for the piecewise flex curve and the fixed/expanded widths, and when the
+ * flex curve is sampled.
+ */
+public class IndicatorGeometryTest {
+
+    private static final float DELTA = 0.001f;
+
+    private IndicatorGeometry geometry;
+
+    @Before
+    public void setUp() {
+        geometry = new IndicatorGeometry();
+    }
+
+    @Test
+    public void restingIndicatorIsCenteredUnderTab() {
+        geometry.setIndicatorWidth(20);
+        geometry.compute(0, 100, 100, 200, 0f);
+        assertEquals(40, geometry.getLeft(), DELTA);
+        assertEquals(60, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void lastTabUsesTabWidthWithoutFixedWidth() {
+        geometry.compute(100, 180);
+        assertEquals(100, geometry.getLeft(), DELTA);
+        assertEquals(180, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void linearMoveFollowsTabCenters() {
+        geometry.setIndicatorWidth(20);
+        geometry.compute(0, 100, 100, 200, 0.5f);
+        // centers 50 -> 150, halfway is 100
+        assertEquals(90, geometry.getLeft(), DELTA);
+        assertEquals(110, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void flexStretchesRightEdgeFirst() {
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        geometry.setDividerFlexLength(50);
+        // scale = 50 / 2 / 100 = 0.25, offset 0.2 is in the first phase
+        geometry.compute(0, 100, 100, 200, 0.2f);
+        assertEquals(50 + 0.4f * 0.2f * 100 - 10, geometry.getLeft(), DELTA);
+        assertEquals(50 + 1.6f * 0.2f * 100 + 10, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void flexMiddlePhaseKeepsConstantStretch() {
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        geometry.setDividerFlexLength(50);
+        geometry.compute(0, 100, 100, 200, 0.5f);
+        assertEquals(50 + (0.5f - 0.6f * 0.25f) * 100 - 10, geometry.getLeft(), DELTA);
+        assertEquals(50 + (0.5f + 0.6f * 0.25f) * 100 + 10, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void flexLastPhaseCatchesUpLeftEdge() {
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        geometry.setDividerFlexLength(50);
+        geometry.compute(0, 100, 100, 200, 0.9f);
+        assertEquals(50 + (1.6f * 0.9f - 0.6f) * 100 - 10, geometry.getLeft(), DELTA);
+        assertEquals(50 + (0.4f * 0.9f + 0.6f) * 100 + 10, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void defaultFlexLengthIsEachPairsOwnDistance() {
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        // centers 50 -> 200, stretch 150 / 2 / 150 = 0.5, offset 0.3 is in the first phase
+        geometry.compute(0, 100, 100, 300, 0.3f);
+        assertEquals(50 + 0.4f * 0.3f * 150 - 10, geometry.getLeft(), DELTA);
+        assertEquals(0, geometry.getDividerFlexLength(), DELTA);
+
+        // centers 50 -> 110, the same phase of a shorter move
+        geometry.compute(0, 100, 100, 120, 0.3f);
+        assertEquals(50 + 0.4f * 0.3f * 60 - 10, geometry.getLeft(), DELTA);
+    }
+
+    @Test
+    public void framesReadTablesSampledForTheLayout() {
+        CountingCurve curve = new CountingCurve();
+        TabPositions positions = positions(100, 100, 300, 80);
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        geometry.setDividerFlexLength(50);
+        geometry.setFlexCurve(curve);
+        geometry.setTabPositions(positions);
+        curve.calls = 0;
+
+        for (int i = 0; i < 3; i++) {
+            for (float offset = 0.05f; offset < 1; offset += 0.05f) {
+                geometry.compute(positions.getLeft(i), positions.getRight(i),
+                        positions.getLeft(i + 1), positions.getRight(i + 1), offset);
+            }
+        }
+
+        assertEquals(0, curve.calls);
+    }
+
+    @Test
+    public void unchangedLayoutIsNotSampledAgain() {
+        CountingCurve curve = new CountingCurve();
+        TabPositions positions = positions(100, 100, 300, 80);
+        geometry.setDividerNeedFlex(true);
+        geometry.setDividerFlexLength(50);
+        geometry.setFlexCurve(curve);
+        geometry.setTabPositions(positions);
+        curve.calls = 0;
+
+        geometry.sampleCurves();
+        assertEquals(0, curve.calls);
+
+        positions.setWidth(3, 90);
+        positions.rebuild();
+        geometry.sampleCurves();
+        assertTrue(curve.calls > 0);
+    }
+
+    @Test
+    public void customCurveDrivesBothEdges() {
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        geometry.setFlexCurve(new IndicatorCurve() {
+            @Override
+            public float left(float offset, float stretch) {
+                return offset * offset;
+            }
+
+            @Override
+            public float right(float offset, float stretch) {
+                return (float) Math.sqrt(offset);
+            }
+        });
+        geometry.compute(0, 100, 100, 200, 0.25f);
+        assertEquals(50 + 0.0625f * 100 - 10, geometry.getLeft(), DELTA);
+        assertEquals(50 + 0.5f * 100 + 10, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void sampledCurveStaysCloseBetweenSamples() {
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        geometry.setDividerFlexLength(50);
+        geometry.setTabPositions(positions(100, 100));
+        // 0.2501 is just past the first phase, between two samples
+        float offset = 0.2501f;
+        geometry.compute(0, 100, 100, 200, offset);
+        assertEquals(50 + (offset - 0.6f * 0.25f) * 100 - 10, geometry.getLeft(), 0.5f);
+        assertEquals(50 + (offset + 0.6f * 0.25f) * 100 + 10, geometry.getRight(), 0.5f);
+    }
+
+    @Test
+    public void rtlMoveMirrorsTheFlexCurve() {
+        geometry.setIndicatorWidth(20);
+        geometry.setDividerNeedFlex(true);
+        geometry.setDividerFlexLength(50);
+        // the next tab is on the left, its leading (left) edge runs ahead
+        geometry.compute(100, 200, 0, 100, 0.2f);
+        assertEquals(150 - 1.6f * 0.2f * 100 - 10, geometry.getLeft(), DELTA);
+        assertEquals(150 - 0.4f * 0.2f * 100 + 10, geometry.getRight(), DELTA);
+    }
+
+    @Test
+    public void expandInsetsByTabPadding() {
+        geometry.setDividerExpand(true);
+        geometry.setIndicatorWidth(20);
+        geometry.setTabPadding(10);
+        geometry.compute(0, 100, 100, 200, 0f);
+        assertEquals(10, geometry.getLeft(), DELTA);
+        assertEquals(90, geometry.getRight(), DELTA);
+    }
+
+    private static TabPositions positions(float... widths) {
+        TabPositions positions = new TabPositions();
+        positions.setCount(widths.length);
+        for (int i = 0; i < widths.length; i++) {
+            positions.setWidth(i, widths[i]);
+        }
+        positions.rebuild();
+        return positions;
+    }
+
+    private static class CountingCurve implements IndicatorCurve {
+        int calls;
+
+        @Override
+        public float left(float offset, float stretch) {
+            calls++;
+            return IndicatorCurve.THREE_PHASE.left(offset, stretch);
+        }
+
+        @Override
+        public float right(float offset, float stretch) {
+            calls++;
+            return IndicatorCurve.THREE_PHASE.right(offset, stretch);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A swipe frame invalidates only the union of the indicator's drawn and new bounds, and
+ * nothing when the indicator moved less than a sub-pixel threshold.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class IndicatorInvalidationTest {
+
+    private Context context;
+    private TestPagers.CountingStrip strip;
+    private final TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        strip = new TestPagers.CountingStrip(context);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(100)));
+        TestPagers.layout(strip);
+        strip.onDraw(canvas);
+        strip.invalidations = 0;
+    }
+
+    @Test
+    public void swipeInvalidatesTheIndicatorBand() {
+        RectF before = new RectF(canvas.lastIndicator);
+
+        strip.pageListener.onPageScrolled(0, 0.5f, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(1, strip.invalidations);
+        Rect dirty = new Rect(strip.dirty);
+        strip.onDraw(canvas);
+        RectF after = canvas.lastIndicator;
+        assertTrue(dirty + " misses " + before, contains(dirty, before));
+        assertTrue(dirty + " misses " + after, contains(dirty, after));
+        assertTrue(dirty.height() < strip.getHeight() / 2);
+    }
+
+    @Test
+    public void subPixelMoveIsSkipped() {
+        float tabWidth = strip.tabPositions.getWidth(0);
+
+        strip.pageListener.onPageScrolled(0, 0.2f / tabWidth, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(0, strip.invalidations);
+
+        strip.pageListener.onPageScrolled(0, 0.5f, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(1, strip.invalidations);
+    }
+
+    @Test
+    public void drawnTabsInvalidateTheWholeStrip() {
+        strip.setDrawnTabs(true);
+        TestPagers.layout(strip);
+        strip.onDraw(canvas);
+        strip.invalidations = 0;
+
+        strip.pageListener.onPageScrolled(0, 0.5f, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(1, strip.invalidations);
+        assertTrue(strip.dirty.isEmpty());
+    }
+
+    private static boolean contains(Rect outer, RectF inner) {
+        return outer.left <= inner.left && outer.top <= inner.top
+                && outer.right >= inner.right && outer.bottom >= inner.bottom;
+    }
+}
@@ -0,0 +1,49 @@
+package com.cc.navigation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void samplesLandInPowerOfTwoMicrosecondBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.record(1_500);
+        histogram.record(3_000);
+        histogram.record(10_000_000_000L);
+
+        assertEquals(1, histogram.getBucket(0));
+        assertEquals(1, histogram.getBucket(1));
+        assertEquals(1, histogram.getBucket(2));
+        assertEquals(1, histogram.getBucket(LatencyHistogram.BUCKET_COUNT - 1));
+        assertEquals(4, histogram.getCount());
+        assertEquals(10_000_000_000L, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void percentileIsBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100_000);
+        }
+        histogram.record(5_000_000);
+
+        // 100us 落在 [64us, 128us)
+        assertEquals(128_000, histogram.getPercentileNanos(0.5));
+        assertEquals(128_000, histogram.getPercentileNanos(0.99));
+        assertEquals(5_000_000, histogram.getPercentileNanos(1));
+    }
+
+    @Test
+    public void resetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getPercentileNanos(0.9));
+    }
+}
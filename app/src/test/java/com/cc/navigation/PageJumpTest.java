@@ -0,0 +1,162 @@
+package com.cc.navigation;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A click further away than the jump threshold puts the pager next to the target and scrolls
+ * only the last page, while the strip moves from where it was straight to the target.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PageJumpTest {
+
+    private static final int NORMAL = 0xFF111111;
+    private static final int SELECTED = 0xFFEEEEEE;
+
+    private Context context;
+    private TestPagers.DraggableSource source;
+    private SlidingTabStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        source = new TestPagers.DraggableSource(100);
+        strip = new SlidingTabStrip(context);
+        strip.setTextColor(NORMAL, SELECTED);
+        strip.setPageJumpThreshold(2);
+        strip.setPagerSource(source);
+        TestPagers.layout(strip);
+    }
+
+    @Test
+    public void farClickScrollsOnlyTheLastPage() {
+        TabStyleTest.tab(strip, 90).performClick();
+
+        assertEquals(Collections.singletonList(89), source.jumps);
+        // the strip stays where it was until the pager moves
+        strip.applyPendingScroll();
+        assertEquals(0, strip.getScrollX());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 90).getCurrentTextColor());
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 89).getCurrentTextColor());
+
+        ShadowLooper.idleMainLooper();
+
+        assertEquals(90, source.getCurrentItem());
+        assertEquals(scrollXAt(90, 0f), strip.getScrollX());
+    }
+
+    @Test
+    public void lastStepMovesTheStripOverTheWholeDistance() {
+        TabStyleTest.tab(strip, 90).performClick();
+
+        source.onPageScrolled(89, 0.5f);
+        strip.applyPendingScroll();
+
+        assertEquals(scrollXAt(45, 0f), strip.getScrollX());
+    }
+
+    @Test
+    public void detachFinishesTheJumpOnTheClickedPage() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(strip);
+        TabStyleTest.tab(strip, 90).performClick();
+
+        activity.setContentView(new View(context));
+
+        assertEquals(Arrays.asList(89, 90), source.jumps);
+        assertEquals(90, source.getCurrentItem());
+
+        // the last step scheduled by the click does not run again
+        ShadowLooper.idleMainLooper();
+        assertEquals(Arrays.asList(89, 90), source.jumps);
+
+        activity.setContentView(strip);
+        TestPagers.layout(strip);
+        strip.applyPendingScroll();
+
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 89).getCurrentTextColor());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 90).getCurrentTextColor());
+        assertEquals(scrollXAt(90, 0f), strip.getScrollX());
+    }
+
+    @Test
+    public void detachFinishesAFakeDragOnTheClickedPage() {
+        strip.setPageScrollDuration(300);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(strip);
+        TabStyleTest.tab(strip, 90).performClick();
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        activity.setContentView(new View(context));
+
+        assertEquals(90, source.getCurrentItem());
+    }
+
+    @Test
+    public void nearClickIsLeftToThePager() {
+        TabStyleTest.tab(strip, 2).performClick();
+
+        assertTrue(source.jumps.isEmpty());
+        assertEquals(2, source.getCurrentItem());
+    }
+
+    @Test
+    public void userDragEndsTheJump() {
+        TabStyleTest.tab(strip, 90).performClick();
+
+        source.onPageScrollStateChanged(TabPagerSource.SCROLL_STATE_DRAGGING);
+        source.onPageScrolled(89, 0.5f);
+        strip.applyPendingScroll();
+
+        assertEquals(scrollXAt(89, 0.5f), strip.getScrollX());
+    }
+
+    @Test
+    public void fakeDragJumpStartsFromTheStripPosition() {
+        strip.setPageScrollDuration(300);
+
+        TabStyleTest.tab(strip, 90).performClick();
+        strip.applyPendingScroll();
+
+        assertEquals(0, strip.getScrollX());
+
+        ShadowLooper.idleMainLooper(600, TimeUnit.MILLISECONDS);
+
+        assertEquals(90, source.getCurrentItem());
+        assertEquals(scrollXAt(90, 0f), strip.getScrollX());
+    }
+
+    /**
+     * Scroll of a strip over the same tabs that followed the pager to {@code position}.
+     */
+    private int scrollXAt(int position, float offset) {
+        ManualPagerSource manual = new ManualPagerSource();
+        manual.setTabs(Arrays.asList(TestPagers.titles(100)), null);
+        SlidingTabStrip reference = new SlidingTabStrip(context);
+        reference.setTextColor(NORMAL, SELECTED);
+        reference.setPagerSource(manual);
+        TestPagers.layout(reference);
+        manual.setCurrentItem(position);
+        if (offset > 0) {
+            manual.onPageScrolled(position, offset);
+            reference.applyPendingScroll();
+        }
+        return reference.getScrollX();
+    }
+}
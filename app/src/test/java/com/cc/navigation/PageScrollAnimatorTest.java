@@ -0,0 +1,144 @@
+package com.cc.navigation;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tab clicks move a draggable pager with the strip's own fake drag: distance-aware duration,
+ * long jumps skip the pages in between, the pager settles the last bit itself and the strip
+ * scrolls with every drag step.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PageScrollAnimatorTest {
+
+    private static final int PAGE_DURATION = 300;
+    private static final int MAX_DURATION = 600;
+    private static final float DELTA = 0.001f;
+
+    private Context context;
+    private TestPagers.DraggableSource source;
+    private SlidingTabStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        source = new TestPagers.DraggableSource(100);
+        strip = new SlidingTabStrip(context);
+        strip.setPageScrollDuration(PAGE_DURATION);
+        strip.setPageScrollMaxDuration(MAX_DURATION);
+        strip.setPagerSource(source);
+        TestPagers.layout(strip);
+    }
+
+    @Test
+    public void durationGrowsWithDistanceUpToTheCap() {
+        PageScrollAnimator animator = newAnimator(null);
+
+        assertEquals(PAGE_DURATION, animator.getDuration(0.5f));
+        assertEquals(PAGE_DURATION, animator.getDuration(1));
+        assertEquals((int) (PAGE_DURATION * Math.sqrt(2)), animator.getDuration(2));
+        assertEquals(MAX_DURATION, animator.getDuration(40));
+    }
+
+    @Test
+    public void longJumpDragsOnlyTheLastPage() {
+        TabStyleTest.tab(strip, 40).performClick();
+
+        assertEquals(Collections.singletonList(39), source.jumps);
+        assertTrue(source.isFakeDragging());
+
+        ShadowLooper.idleMainLooper(MAX_DURATION, TimeUnit.MILLISECONDS);
+
+        assertFalse(source.isFakeDragging());
+        assertEquals(1, source.releases.size());
+        float release = source.releases.get(0);
+        assertTrue("released at " + release, release >= 40 - PageScrollAnimator.RELEASE_DISTANCE - DELTA);
+        assertTrue("released at " + release, release < 40);
+        assertTrue(source.minDraggedPosition >= 39);
+        assertEquals(40, source.getCurrentItem());
+    }
+
+    @Test
+    public void stripEndsOnTheClickedTab() {
+        SlidingTabStrip selected = new SlidingTabStrip(context);
+        ManualPagerSource manual = new ManualPagerSource();
+        manual.setTabs(Arrays.asList(TestPagers.titles(100)), null);
+        selected.setPagerSource(manual);
+        TestPagers.layout(selected);
+        manual.setCurrentItem(90);
+
+        TabStyleTest.tab(strip, 90).performClick();
+        ShadowLooper.idleMainLooper(MAX_DURATION, TimeUnit.MILLISECONDS);
+
+        assertTrue(strip.getScrollX() > 0);
+        assertEquals(selected.getScrollX(), strip.getScrollX());
+    }
+
+    /**
+     * The second click lands in the middle of a drag step, the way a tap arrives between two
+     * frames of the animation.
+     */
+    @Test
+    public void clickWhileRunningKeepsTheSpeedOfTheSameDirection() {
+        final int[] steps = {0};
+        final float[] retargetedFrom = {-1};
+        final long[] durations = new long[2];
+        final PageScrollAnimator[] animator = new PageScrollAnimator[1];
+        animator[0] = newAnimator(new PageScrollAnimator.Listener() {
+            @Override
+            public void onPageDragged() {
+                steps[0]++;
+                if (steps[0] == 10) {
+                    retargetedFrom[0] = source.position;
+                    animator[0].animateTo(source, source.position, 2);
+                    durations[0] = animator[0].getRunningDuration();
+                } else if (steps[0] == 11) {
+                    animator[0].animateTo(source, source.position, 0);
+                    durations[1] = animator[0].getRunningDuration();
+                }
+            }
+        });
+
+        animator[0].animateTo(source, 0, 1);
+        ShadowLooper.idleMainLooper(MAX_DURATION, TimeUnit.MILLISECONDS);
+
+        assertTrue(retargetedFrom[0] > 0);
+        // the drag went on next to the new target without a release in between
+        assertEquals(Collections.singletonList(1), source.jumps);
+        assertTrue(durations[0] < animator[0].getDuration(2 - retargetedFrom[0]));
+        // turning back starts from rest
+        assertEquals(animator[0].getDuration(1), durations[1]);
+        assertEquals(1, source.releases.size());
+        assertEquals(0, source.getCurrentItem());
+    }
+
+    @Test
+    public void pagerThatCannotBeDraggedSelectsDirectly() {
+        source.pageSize = 0;
+
+        TabStyleTest.tab(strip, 3).performClick();
+
+        assertFalse(source.isFakeDragging());
+        assertEquals(3, source.getCurrentItem());
+    }
+
+    private PageScrollAnimator newAnimator(PageScrollAnimator.Listener listener) {
+        PageScrollAnimator animator = new PageScrollAnimator(listener);
+        animator.setDurations(PAGE_DURATION, MAX_DURATION);
+        return animator;
+    }
+}
@@ -0,0 +1,161 @@
+package com.cc.navigation;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.viewpager.widget.ViewPager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A strip keeps exactly one callback on its pager however often it is rebound and drops it
+ * when unbound. While detached it only forwards the callbacks to the app's listener, and
+ * catches up with the pager when it is attached again.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagerBindingTest {
+
+    private static final int NORMAL = 0xFF111111;
+    private static final int SELECTED = 0xFFEE0000;
+
+    private Context context;
+    private CountingSource source;
+    private SlidingTabStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        source = new CountingSource();
+        source.setTabs(Arrays.asList(TestPagers.titles(100)), null);
+        strip = new SlidingTabStrip(context);
+        strip.setTextColor(NORMAL, SELECTED);
+    }
+
+    @Test
+    public void rebindingKeepsOneCallback() {
+        for (int i = 0; i < 5; i++) {
+            strip.setPagerSource(source);
+        }
+
+        assertEquals(1, strip.getPageCallbackCount());
+        assertEquals(1, source.registered);
+    }
+
+    @Test
+    public void unbindDropsTheCallbackAndTheTabs() {
+        strip.setPagerSource(source);
+
+        strip.unbindPagerSource();
+
+        assertEquals(0, strip.getPageCallbackCount());
+        assertEquals(0, source.registered);
+        assertNull(strip.getPagerSource());
+        assertEquals(0, ((ViewGroup) strip.getChildAt(0)).getChildCount());
+
+        strip.setPagerSource(source);
+
+        assertEquals(1, source.registered);
+        assertEquals(100, ((ViewGroup) strip.getChildAt(0)).getChildCount());
+    }
+
+    @Test
+    public void detachedStripCatchesUpOnAttach() {
+        strip.setPagerSource(source);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(strip);
+        TestPagers.layout(strip);
+
+        activity.setContentView(new View(context));
+
+        assertEquals(1, source.registered);
+        source.setCurrentItem(60);
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+
+        activity.setContentView(strip);
+        TestPagers.layout(strip);
+        strip.applyPendingScroll();
+
+        assertEquals(1, source.registered);
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 60).getCurrentTextColor());
+        assertEquals(scrollXAt(60), strip.getScrollX());
+    }
+
+    @Test
+    public void detachedStripStillForwardsPageSelected() {
+        ViewPager pager = TestPagers.viewPager(context, TestPagers.titles(10));
+        PagerSlidingTabStrip tabs = new PagerSlidingTabStrip(context);
+        tabs.setTextColor(NORMAL, SELECTED);
+        tabs.setViewPager(pager);
+        final List<Integer> selected = new ArrayList<>();
+        tabs.setOnPageChangeListener(new ViewPager.SimpleOnPageChangeListener() {
+            @Override
+            public void onPageSelected(int position) {
+                selected.add(position);
+            }
+        });
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(tabs);
+        activity.setContentView(new View(context));
+
+        pager.setCurrentItem(3, false);
+
+        assertEquals(Collections.singletonList(3), selected);
+        assertEquals(SELECTED, TabStyleTest.tab(tabs, 0).getCurrentTextColor());
+    }
+
+    @Test
+    public void sourceChangedWhileDetachedIsRebuiltOnAttach() {
+        strip.setPagerSource(source);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(strip);
+        activity.setContentView(new View(context));
+
+        source.setTabs(Arrays.asList(TestPagers.titles(10)), null);
+        activity.setContentView(strip);
+
+        assertEquals(10, ((ViewGroup) strip.getChildAt(0)).getChildCount());
+    }
+
+    private int scrollXAt(int position) {
+        ManualPagerSource manual = new ManualPagerSource();
+        manual.setTabs(Arrays.asList(TestPagers.titles(100)), null);
+        SlidingTabStrip reference = new SlidingTabStrip(context);
+        reference.setTextColor(NORMAL, SELECTED);
+        reference.setPagerSource(manual);
+        TestPagers.layout(reference);
+        manual.setCurrentItem(position);
+        return reference.getScrollX();
+    }
+
+    private static class CountingSource extends ManualPagerSource {
+        int registered;
+
+        @Override
+        public void registerCallback(Callback callback) {
+            registered++;
+            super.registerCallback(callback);
+        }
+
+        @Override
+        public void unregisterCallback(Callback callback) {
+            registered--;
+            super.unregisterCallback(callback);
+        }
+    }
+}
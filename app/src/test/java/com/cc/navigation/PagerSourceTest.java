@@ -0,0 +1,72 @@
+package com.cc.navigation;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The strip engine follows any {@link TabPagerSource}, not just the two AndroidX pagers.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagerSourceTest {
+
+    private static final int NORMAL = 0xFF111111;
+    private static final int SELECTED = 0xFFEE0000;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void manualSourceBuildsTabsAndFollowsClicks() {
+        ManualPagerSource source = new ManualPagerSource();
+        source.setTabs(Arrays.asList(TestPagers.titles(8)), null);
+        SlidingTabStrip strip = new SlidingTabStrip(context);
+        strip.setTextColor(NORMAL, SELECTED);
+        strip.setPagerSource(source);
+        TestPagers.layout(strip);
+
+        assertEquals("Tab 7", TabStyleTest.tab(strip, 7).getText().toString());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+
+        TabStyleTest.tab(strip, 4).performClick();
+
+        assertEquals(4, source.getCurrentItem());
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 4).getCurrentTextColor());
+    }
+
+    @Test
+    public void replacedSourceNoLongerDrivesTheStrip() {
+        ManualPagerSource first = new ManualPagerSource();
+        first.setTabs(Arrays.asList(TestPagers.titles(200)), null);
+        ManualPagerSource second = new ManualPagerSource();
+        second.setTabs(Arrays.asList(TestPagers.titles(200)), null);
+        SlidingTabStrip strip = new SlidingTabStrip(context);
+        strip.setPagerSource(first);
+        strip.setPagerSource(second);
+        TestPagers.layout(strip);
+
+        first.onPageScrolled(150, 0f);
+        strip.applyPendingScroll();
+        assertEquals(0, strip.getScrollX());
+
+        second.onPageScrolled(150, 0f);
+        strip.applyPendingScroll();
+        assertSame(second, strip.getPagerSource());
+        assertTrue(strip.getScrollX() > 0);
+    }
+}
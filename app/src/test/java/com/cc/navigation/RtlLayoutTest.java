@@ -0,0 +1,144 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * In a right-to-left layout the first tab is the rightmost one; positions, the indicator and
+ * scrolling follow the tabs where LinearLayout actually put them.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RtlLayoutTest {
+
+    private static final int TABS = 100;
+
+    private Context context;
+    private TestPagers.CountingStrip strip;
+    private final TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        // views only resolve RTL for apps that support it and target API 17+, as the app does
+        ApplicationInfo info = context.getApplicationInfo();
+        info.flags |= ApplicationInfo.FLAG_SUPPORTS_RTL;
+        info.targetSdkVersion = Math.max(info.targetSdkVersion, Build.VERSION_CODES.JELLY_BEAN_MR1);
+        strip = new TestPagers.CountingStrip(context);
+        strip.setLayoutDirection(View.LAYOUT_DIRECTION_RTL);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+    }
+
+    @Test
+    public void positionsMatchTheTabViews() {
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        assertTrue(container.getChildAt(0).getLeft() > container.getChildAt(1).getLeft());
+        for (int i = 0; i < TABS; i++) {
+            View tab = container.getChildAt(i);
+            assertEquals(tab.getLeft(), strip.tabPositions.getLeft(i), 0f);
+            assertEquals(tab.getRight(), strip.tabPositions.getRight(i), 0f);
+        }
+    }
+
+    @Test
+    public void indicatorFollowsTheSelectedTab() {
+        View tab = ((ViewGroup) strip.getChildAt(0)).getChildAt(5);
+
+        strip.pageListener.onPageScrolled(5, 0f, 0);
+        strip.applyPendingScroll();
+        strip.onDraw(canvas);
+
+        assertEquals(tab.getLeft(), canvas.lastIndicator.left, 1f);
+        assertEquals(tab.getRight(), canvas.lastIndicator.right, 1f);
+    }
+
+    @Test
+    public void indicatorMovesLeftTowardsTheNextTab() {
+        View next = ((ViewGroup) strip.getChildAt(0)).getChildAt(6);
+
+        strip.pageListener.onPageScrolled(5, 0.5f, 0);
+        strip.applyPendingScroll();
+        strip.onDraw(canvas);
+        float halfway = canvas.lastIndicator.centerX();
+        strip.pageListener.onPageScrolled(5, 0.99f, 0);
+        strip.applyPendingScroll();
+        strip.onDraw(canvas);
+
+        assertTrue(canvas.lastIndicator.centerX() < halfway);
+        assertEquals(next.getLeft() + next.getWidth() / 2f, canvas.lastIndicator.centerX(), next.getWidth() * 0.02f);
+    }
+
+    @Test
+    public void scrollingKeepsTheCurrentTabInView() {
+        View tab = ((ViewGroup) strip.getChildAt(0)).getChildAt(20);
+
+        strip.pageListener.onPageScrolled(20, 0f, 0);
+        strip.applyPendingScroll();
+
+        int scrollX = strip.getScrollX();
+        assertTrue(tab.getLeft() >= scrollX);
+        assertEquals(scrollX + strip.getWidth() - strip.getScrollOffset(), tab.getRight());
+    }
+
+    @Test
+    public void virtualTabsFollowTheMirroredWindow() {
+        TestPagers.CountingStrip virtual = new TestPagers.CountingStrip(context);
+        virtual.setLayoutDirection(View.LAYOUT_DIRECTION_RTL);
+        virtual.setVirtualTabs(true);
+        virtual.setViewPager(TestPagers.viewPager(context, TestPagers.titles(3000)));
+        TestPagers.layout(virtual);
+        ViewGroup container = (ViewGroup) virtual.getChildAt(0);
+
+        assertBoundWindowCoversTheViewport(virtual);
+
+        virtual.pageListener.onPageScrolled(200, 0f, 0);
+        virtual.applyPendingScroll();
+        TestPagers.layout(virtual);
+        virtual.onDraw(canvas);
+
+        View tab = null;
+        for (int i = 1; i < container.getChildCount() - 1; i++) {
+            if ("Tab 200".contentEquals(((TextView) container.getChildAt(i)).getText())) {
+                tab = container.getChildAt(i);
+            }
+        }
+        assertNotNull(tab);
+        assertEquals(tab.getLeft(), virtual.tabPositions.getLeft(200), 0f);
+        assertEquals(tab.getRight(), virtual.tabPositions.getRight(200), 0f);
+        assertEquals(tab.getLeft(), canvas.lastIndicator.left, 1f);
+        int scrollX = virtual.getScrollX();
+        assertTrue(tab.getLeft() >= scrollX);
+        assertEquals(scrollX + virtual.getWidth() - virtual.getScrollOffset(), tab.getRight());
+        assertBoundWindowCoversTheViewport(virtual);
+    }
+
+    /**
+     * Every bound tab sits where the position table says, and together they cover the viewport.
+     */
+    private static void assertBoundWindowCoversTheViewport(SlidingTabStrip strip) {
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        int bound = container.getChildCount() - 2;
+        for (int i = 1; i <= bound; i++) {
+            View tab = container.getChildAt(i);
+            int position = Integer.parseInt(((TextView) tab).getText().toString().substring("Tab ".length()));
+            assertEquals(tab.getLeft(), strip.tabPositions.getLeft(position), 0f);
+        }
+        // right to left: the first bound tab is the rightmost one
+        assertTrue(container.getChildAt(1).getRight() >= strip.getScrollX() + strip.getWidth());
+        assertTrue(container.getChildAt(bound).getLeft() <= strip.getScrollX());
+    }
+}
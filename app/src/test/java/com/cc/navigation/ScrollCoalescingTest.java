@@ -0,0 +1,63 @@
+package com.cc.navigation;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Several pager offsets within one frame end in a single scroll and invalidate on the next vsync.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollCoalescingTest {
+
+    private Context context;
+    private TestPagers.CountingStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        strip = new TestPagers.CountingStrip(context);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(100)));
+        TestPagers.layout(strip);
+        strip.invalidations = 0;
+        strip.scrolls = 0;
+    }
+
+    @Test
+    public void offsetsWithinAFrameScrollOnce() {
+        strip.pageListener.onPageScrolled(10, 0.1f, 0);
+        strip.pageListener.onPageScrolled(10, 0.2f, 0);
+        strip.pageListener.onPageScrolled(10, 0.3f, 0);
+        assertEquals(0, strip.scrolls);
+
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, strip.scrolls);
+        assertEquals(1, strip.invalidations);
+        assertTrue(strip.getScrollX() > 0);
+    }
+
+    @Test
+    public void unchangedOffsetDoesNotInvalidate() {
+        strip.pageListener.onPageScrolled(10, 0.5f, 0);
+        strip.applyPendingScroll();
+        int invalidations = strip.invalidations;
+        int scrolls = strip.scrolls;
+
+        strip.pageListener.onPageScrolled(10, 0.5f, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(invalidations, strip.invalidations);
+        assertEquals(scrolls, strip.scrolls);
+    }
+}
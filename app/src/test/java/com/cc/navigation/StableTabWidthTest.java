@@ -0,0 +1,104 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * With stable tab widths a text tab keeps the larger text size and reserves its width, and
+ * the selected size is drawn by scaling the glyphs, so a selection change moves no tab and requests no
+ * layout.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StableTabWidthTest {
+
+    private static final int TABS = 10;
+
+    private Context context;
+    private PagerSlidingTabStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        strip = new PagerSlidingTabStrip(context);
+        TestPagers.attach(strip);
+        strip.setTextSize(30);
+        strip.setSelectTextSize(60);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+    }
+
+    @Test
+    public void tabsReserveTheWiderStyle() {
+        strip.setStableTabWidth(true);
+
+        for (int i = 0; i < TABS; i++) {
+            TextView tab = TabStyleTest.tab(strip, i);
+            int text = Math.max(TabWidthCache.measure(tab.getText().toString(), Typeface.DEFAULT, 30, 0),
+                    TabWidthCache.measure(tab.getText().toString(), Typeface.DEFAULT, 60, 0));
+            assertEquals(text + tab.getCompoundPaddingLeft() + tab.getCompoundPaddingRight(), tab.getMinWidth());
+        }
+    }
+
+    @Test
+    public void selectionMovesNoTab() {
+        strip.setStableTabWidth(true);
+        TestPagers.layout(strip);
+        int[] lefts = lefts();
+
+        strip.pageListener.onPageSelected(5);
+        TestPagers.layout(strip);
+
+        assertArrayEquals(lefts, lefts());
+        for (int i = 0; i < TABS; i++) {
+            assertEquals(TabStyleTest.tab(strip, i).getMinWidth(), TabStyleTest.tab(strip, i).getWidth());
+        }
+    }
+
+    @Test
+    public void selectionRequestsNoLayout() {
+        strip.setStableTabWidth(true);
+        TestPagers.layout(strip);
+
+        strip.pageListener.onPageSelected(5);
+
+        assertFalse(strip.isLayoutRequested());
+        for (int i = 0; i < TABS; i++) {
+            TextView tab = TabStyleTest.tab(strip, i);
+            assertFalse(tab.isLayoutRequested());
+            assertEquals(60f, tab.getTextSize(), 0f);
+            assertEquals(i == 5 ? 1f : 0.5f, ((TabTextView) tab).getTextScale(), 0f);
+        }
+    }
+
+    @Test
+    public void turningTheModeOffDropsTheReservation() {
+        strip.setStableTabWidth(true);
+        strip.setStableTabWidth(false);
+
+        for (int i = 0; i < TABS; i++) {
+            assertEquals(0, TabStyleTest.tab(strip, i).getMinWidth());
+            assertEquals(1f, ((TabTextView) TabStyleTest.tab(strip, i)).getTextScale(), 0f);
+        }
+    }
+
+    private int[] lefts() {
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        int[] lefts = new int[TABS + 1];
+        for (int i = 0; i < TABS; i++) {
+            lefts[i] = container.getChildAt(i).getLeft();
+        }
+        lefts[TABS] = container.getChildAt(TABS - 1).getRight();
+        return lefts;
+    }
+}
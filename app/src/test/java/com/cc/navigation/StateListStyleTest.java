@@ -0,0 +1,101 @@
+package com.cc.navigation;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * In state list mode all tabs share one {@link android.content.res.ColorStateList} and a
+ * selection change only flips {@code setSelected} on the old and the new tab.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StateListStyleTest {
+
+    private static final int TABS = 200;
+    private static final int NORMAL = 0xFF111111;
+    private static final int SELECTED = 0xFFEE0000;
+
+    private Context context;
+    private TestPagers.CountingStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        strip = new TestPagers.CountingStrip(context);
+        TestPagers.attach(strip);
+        strip.setStateListStyle(true);
+        strip.setTextColor(NORMAL, SELECTED);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+    }
+
+    @Test
+    public void tabsShareOneColorStateList() {
+        for (int i = 1; i < TABS; i++) {
+            assertSame(TabStyleTest.tab(strip, 0).getTextColors(), TabStyleTest.tab(strip, i).getTextColors());
+        }
+        assertTrue(TabStyleTest.tab(strip, 0).isSelected());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 1).getCurrentTextColor());
+    }
+
+    @Test
+    public void selectionFlipsTwoTabs() {
+        strip.pageListener.onPageSelected(150);
+
+        assertFalse(TabStyleTest.tab(strip, 0).isSelected());
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+        assertTrue(TabStyleTest.tab(strip, 150).isSelected());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 150).getCurrentTextColor());
+        for (int i = 1; i < TABS; i++) {
+            if (i != 150) {
+                assertFalse("tab " + i + " was restyled", TabStyleTest.tab(strip, i).isLayoutRequested());
+            }
+        }
+    }
+
+    @Test
+    public void selectionDoesNotAllocate() {
+        // one color for both states, so the text does not redraw: Robolectric's invalidate()
+        // allocates, the framework's does not
+        strip.setTextColor(NORMAL, NORMAL);
+        // the view state code hits the odd one-off JIT allocation in every round, a real
+        // allocation per selection would be at least one 16 byte object
+        AllocationGuard.assertAllocationAtMost("onPageSelected", 8, 2000, new Runnable() {
+            private int position;
+
+            @Override
+            public void run() {
+                position = position == 3 ? 4 : 3;
+                strip.pageListener.onPageSelected(position);
+            }
+        });
+    }
+
+    @Test
+    public void newColorsReplaceTheSharedList() {
+        strip.setTextColor(0xFF222222, 0xFF00EE00);
+
+        assertEquals(0xFF00EE00, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+        assertEquals(0xFF222222, TabStyleTest.tab(strip, 1).getCurrentTextColor());
+        assertSame(TabStyleTest.tab(strip, 0).getTextColors(), TabStyleTest.tab(strip, 1).getTextColors());
+    }
+
+    @Test
+    public void turningTheModeOffClearsTheSelectedState() {
+        strip.setStateListStyle(false);
+
+        assertFalse(TabStyleTest.tab(strip, 0).isSelected());
+        assertFalse(TabStyleTest.tab(strip, 0).getTextColors().isStateful());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+    }
+}
@@ -0,0 +1,257 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.view.ViewGroup;
+
+import androidx.viewpager.widget.ViewPager;
+import androidx.viewpager2.widget.ViewPager2;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Work budgets of both strips while the pager is swiped, for small, large and huge tab counts,
+ * so a change that makes following the pager more expensive fails on the JVM.
+ * <p>
+ * A frame is what the framework does per vsync: the pager reports its offset, the strip
+ * applies it, lays out if anything asked for it and draws.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+public class StripPerformanceTest {
+
+    private static final int FRAMES_PER_SWIPE = 24;
+    private static final int MAX_SWIPES = 40;
+    private static final int ALLOCATION_FRAMES = 2000;
+
+    /**
+     * Views a virtual window holds beyond the tabs fully inside the viewport: a partly visible
+     * tab, the extra tabs on both sides and the two spacers.
+     */
+    private static final int VIRTUAL_WINDOW_SLACK = 1 + 2 * 2 + 2;
+    /**
+     * Rebinding recycled tabs as they enter the window sets their text, which allocates
+     * inside TextView.
+     */
+    private static final int MAX_VIRTUAL_BYTES_PER_FRAME = 8 * 1024;
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0} tabs, ViewPager2 {1}, virtual {2}")
+    public static Collection<Object[]> cases() {
+        return Arrays.asList(new Object[][]{
+                {10, false, false},
+                {100, false, false},
+                {1000, false, false},
+                {1000, false, true},
+                {10, true, false},
+                {100, true, false},
+                {1000, true, false},
+                {1000, true, true},
+        });
+    }
+
+    private final int tabs;
+    private final boolean viewPager2;
+    private final boolean virtual;
+
+    private Context context;
+    private SlidingTabStrip strip;
+    private TestPagers.Counting counting;
+    private ViewPager pager;
+    private ViewPager2 pager2;
+    private final TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+
+    public StripPerformanceTest(int tabs, boolean viewPager2, boolean virtual) {
+        this.tabs = tabs;
+        this.viewPager2 = viewPager2;
+        this.virtual = virtual;
+    }
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        String[] titles = TestPagers.titles(tabs);
+        if (viewPager2) {
+            TestPagers.CountingStrip2 strip2 = new TestPagers.CountingStrip2(context);
+            setUpStrip(strip2);
+            pager2 = TestPagers.viewPager2(context, titles);
+            strip2.setViewPager(pager2);
+            strip = strip2;
+            counting = strip2;
+        } else {
+            TestPagers.CountingStrip strip1 = new TestPagers.CountingStrip(context);
+            setUpStrip(strip1);
+            pager = TestPagers.viewPager(context, titles);
+            strip1.setViewPager(pager);
+            strip = strip1;
+            counting = strip1;
+        }
+        TestPagers.layout(strip);
+    }
+
+    private void setUpStrip(SlidingTabStrip strip) {
+        strip.setVirtualTabs(virtual);
+        strip.setMetricsEnabled(true);
+        // Robolectric's Trace shadow allocates per section, the framework one does not
+        strip.getMetrics().setTraceEnabled(false);
+    }
+
+    @Test
+    public void viewCountStaysWithinBudget() {
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        int before = container.getChildCount();
+        int maxVirtualViews = maxVirtualViews();
+        if (virtual) {
+            assertTrue("views " + before, before <= maxVirtualViews);
+        } else {
+            // one flat view per tab, nothing wrapped
+            assertEquals(tabs, before);
+        }
+
+        swipeThroughPages();
+
+        int after = container.getChildCount();
+        assertTrue("views grew from " + before + " to " + after,
+                virtual ? after <= maxVirtualViews : after == before);
+    }
+
+    @Test
+    public void restylesAndRebindsOnlyWhenBuilt() {
+        TabStripMetrics metrics = strip.getMetrics();
+        assertEquals(1, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+        assertEquals(1, metrics.getHistogram(TabStripMetrics.SECTION_REBUILD).getCount());
+        metrics.reset();
+
+        swipeThroughPages();
+
+        assertEquals(0, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+        assertEquals(0, metrics.getHistogram(TabStripMetrics.SECTION_REBUILD).getCount());
+        if (!virtual) {
+            assertEquals(0, metrics.getTabsBound());
+        }
+    }
+
+    @Test
+    public void scrollsInvalidatesAndLaysOutAtMostOncePerFrame() {
+        int swipes = swipes();
+        for (int page = 0; page < swipes; page++) {
+            int layoutsBeforeSwipe = counting.layouts();
+            startSwipe();
+            for (int i = 0; i < FRAMES_PER_SWIPE; i++) {
+                int scrolls = counting.scrolls();
+                int invalidations = counting.invalidations();
+                int layouts = counting.layouts();
+
+                frame(page, (float) i / FRAMES_PER_SWIPE);
+
+                assertAtMostOnce("scrollTo", counting.scrolls() - scrolls, page, i);
+                assertAtMostOnce("invalidate", counting.invalidations() - invalidations, page, i);
+                if (virtual) {
+                    assertAtMostOnce("layout", counting.layouts() - layouts, page, i);
+                } else {
+                    assertEquals("layout in swipe " + page + " frame " + i, layouts, counting.layouts());
+                }
+            }
+            int scrolls = counting.scrolls();
+            settleSwipe(page + 1);
+            assertAtMostOnce("scrollTo", counting.scrolls() - scrolls, page, FRAMES_PER_SWIPE);
+            if (!virtual) {
+                // only the selected tab may change its size
+                assertTrue("layouts in swipe " + page, counting.layouts() - layoutsBeforeSwipe <= 1);
+            }
+        }
+        assertTrue(canvas.indicatorDraws >= swipes * FRAMES_PER_SWIPE);
+    }
+
+    /**
+     * Layout passes are budgeted by count above and left out here: Robolectric measures text
+     * in Java and allocates far more per layout than a device does.
+     */
+    @Test
+    public void swipeFramesStayWithinAllocationBudget() {
+        final int swipes = swipes();
+        Runnable swipeFrame = new Runnable() {
+            private int frame;
+
+            @Override
+            public void run() {
+                int position = (frame / FRAMES_PER_SWIPE) % swipes;
+                float offset = (float) (frame % FRAMES_PER_SWIPE) / FRAMES_PER_SWIPE;
+                frame++;
+                scrollAndDraw(position, offset);
+            }
+        };
+        long budget = virtual ? MAX_VIRTUAL_BYTES_PER_FRAME : 0;
+        AllocationGuard.assertAllocationAtMost(tabs + " tabs swipe", budget, ALLOCATION_FRAMES, swipeFrame,
+                counting.scrollShadow());
+    }
+
+    private int swipes() {
+        return Math.min(tabs - 1, MAX_SWIPES);
+    }
+
+    private void swipeThroughPages() {
+        for (int page = 0; page < swipes(); page++) {
+            startSwipe();
+            for (int i = 0; i < FRAMES_PER_SWIPE; i++) {
+                frame(page, (float) i / FRAMES_PER_SWIPE);
+            }
+            settleSwipe(page + 1);
+        }
+    }
+
+    private void startSwipe() {
+        strip.pageListener.onPageScrollStateChanged(TabPagerSource.SCROLL_STATE_DRAGGING);
+    }
+
+    private void frame(int position, float offset) {
+        strip.pageListener.onPageScrolled(position, offset, 0);
+        // the strip's frame callback
+        strip.applyPendingScroll();
+        if (strip.isLayoutRequested()) {
+            TestPagers.layout(strip);
+        }
+        strip.onDraw(canvas);
+    }
+
+    private void scrollAndDraw(int position, float offset) {
+        strip.pageListener.onPageScrolled(position, offset, 0);
+        strip.applyPendingScroll();
+        strip.onDraw(canvas);
+    }
+
+    private int maxVirtualViews() {
+        float narrowest = Float.MAX_VALUE;
+        for (int i = 0; i < tabs; i++) {
+            narrowest = Math.min(narrowest, strip.tabPositions.getWidth(i));
+        }
+        return (int) Math.ceil(TestPagers.STRIP_WIDTH / narrowest) + VIRTUAL_WINDOW_SLACK;
+    }
+
+    /**
+     * The pager lands on {@code page}: it is selected, reported at offset 0 and goes idle.
+     */
+    private void settleSwipe(int page) {
+        if (viewPager2) {
+            pager2.setCurrentItem(page, false);
+        } else {
+            pager.setCurrentItem(page, false);
+        }
+        strip.pageListener.onPageScrolled(page, 0f, 0);
+        strip.pageListener.onPageScrollStateChanged(TabPagerSource.SCROLL_STATE_IDLE);
+        if (strip.isLayoutRequested()) {
+            TestPagers.layout(strip);
+        }
+    }
+
+    private static void assertAtMostOnce(String what, int count, int swipe, int frame) {
+        assertTrue(what + " " + count + " times in swipe " + swipe + " frame " + frame, count <= 1);
+    }
+}
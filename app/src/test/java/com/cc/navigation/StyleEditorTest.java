@@ -0,0 +1,131 @@
+package com.cc.navigation;
+
+import android.app.Activity;
+import android.graphics.Typeface;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@code edit()...apply()} restyles the tabs once for any number of changes, and neither it nor
+ * the style setters restyle before the strip is attached.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StyleEditorTest {
+
+    private static final int NORMAL = 0xFF111111;
+    private static final int SELECTED = 0xFFEEEEEE;
+    private static final int TEXT_SIZE = 40;
+    private static final int PADDING = 20;
+
+    private Activity activity;
+    private PagerSlidingTabStrip strip;
+    private TabStripMetrics metrics;
+
+    @Before
+    public void setUp() {
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+        strip = new PagerSlidingTabStrip(activity);
+        strip.setMetricsEnabled(true);
+        strip.setViewPager(TestPagers.viewPager(activity, TestPagers.titles(10)));
+        metrics = strip.getMetrics();
+        metrics.reset();
+    }
+
+    @Test
+    public void applyRestylesOnce() {
+        activity.setContentView(strip);
+
+        strip.edit()
+                .textSize(TEXT_SIZE)
+                .selectTextSize(TEXT_SIZE)
+                .colors(NORMAL, SELECTED)
+                .typeface(Typeface.MONOSPACE)
+                .tabPaddingLeftRight(PADDING)
+                .apply();
+
+        assertEquals(1, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+        assertStyled();
+    }
+
+    @Test
+    public void nothingChangesBeforeApply() {
+        activity.setContentView(strip);
+
+        strip.edit().textSize(TEXT_SIZE).colors(NORMAL, SELECTED);
+
+        assertEquals(0, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+        assertNotEquals(TEXT_SIZE, TabStyleTest.tab(strip, 1).getTextSize(), 0.001f);
+        assertNotEquals(NORMAL, TabStyleTest.tab(strip, 1).getCurrentTextColor());
+    }
+
+    @Test
+    public void detachedStripRestylesOnAttach() {
+        strip.edit()
+                .textSize(TEXT_SIZE)
+                .selectTextSize(TEXT_SIZE)
+                .colors(NORMAL, SELECTED)
+                .typeface(Typeface.MONOSPACE)
+                .tabPaddingLeftRight(PADDING)
+                .apply();
+
+        assertEquals(0, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+
+        activity.setContentView(strip);
+
+        assertEquals(1, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+        assertStyled();
+    }
+
+    @Test
+    public void detachedSettersRestyleOnceOnAttach() {
+        strip.setTextSize(TEXT_SIZE);
+        strip.setSelectTextSize(TEXT_SIZE);
+        strip.setTextColor(NORMAL, SELECTED);
+        strip.setTypeface(Typeface.MONOSPACE);
+        strip.setTabPaddingLeftRight(PADDING);
+
+        assertEquals(0, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+
+        activity.setContentView(strip);
+
+        assertEquals(1, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+        assertStyled();
+    }
+
+    @Test
+    public void textColorIsTheNormalColor() {
+        activity.setContentView(strip);
+
+        strip.edit().textColor(NORMAL).apply();
+
+        assertEquals(NORMAL, strip.getTextColor());
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 1).getCurrentTextColor());
+        assertNotEquals(NORMAL, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+    }
+
+    @Test
+    public void indicatorColorOnlyRedraws() {
+        activity.setContentView(strip);
+
+        strip.edit().indicatorColor(SELECTED).apply();
+
+        assertEquals(SELECTED, strip.getIndicatorColor());
+        assertEquals(0, metrics.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+    }
+
+    private void assertStyled() {
+        assertEquals(TEXT_SIZE, TabStyleTest.tab(strip, 1).getTextSize(), 0.001f);
+        assertEquals(NORMAL, TabStyleTest.tab(strip, 1).getCurrentTextColor());
+        assertEquals(SELECTED, TabStyleTest.tab(strip, 0).getCurrentTextColor());
+        assertEquals(PADDING, TabStyleTest.tab(strip, 1).getPaddingLeft());
+        assertSame(Typeface.MONOSPACE, TabStyleTest.tab(strip, 1).getTypeface());
+    }
+}
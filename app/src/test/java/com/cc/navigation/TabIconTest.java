@@ -0,0 +1,102 @@
+package com.cc.navigation;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.view.ViewGroup;
+import android.widget.ImageButton;
+
+import androidx.viewpager.widget.ViewPager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Icons are decoded off the main thread unless the strip is virtual or async icons are off,
+ * and decoded once per process through {@link TabIconCache}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TabIconTest {
+
+    private static final int[] ICONS = {
+            android.R.drawable.star_on, android.R.drawable.star_off, android.R.drawable.ic_menu_add
+    };
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        TabIconCache.clear();
+    }
+
+    @Test
+    public void iconsArriveAfterBackgroundLoad() throws InterruptedException {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setViewPager(iconPager());
+
+        assertNull(icon(strip, 0).getDrawable());
+
+        for (int i = 0; i < 100 && icon(strip, 2).getDrawable() == null; i++) {
+            Thread.sleep(20);
+            ShadowLooper.idleMainLooper();
+        }
+        for (int i = 0; i < ICONS.length; i++) {
+            assertNotNull("tab " + i, icon(strip, i).getDrawable());
+        }
+    }
+
+    @Test
+    public void syncIconsAreSetWhileBinding() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setAsyncIcons(false);
+        strip.setViewPager(iconPager());
+
+        assertNotNull(icon(strip, 0).getDrawable());
+    }
+
+    @Test
+    public void secondStripReusesCachedIcons() {
+        PagerSlidingTabStrip first = new PagerSlidingTabStrip(context);
+        first.setAsyncIcons(false);
+        first.setViewPager(iconPager());
+        int hits = TabIconCache.hitCount();
+
+        PagerSlidingTabStrip second = new PagerSlidingTabStrip(context);
+        second.setViewPager(iconPager());
+
+        // 缓存命中时即使是异步模式也直接设置
+        assertNotNull(icon(second, 0).getDrawable());
+        assertEquals(hits + ICONS.length, TabIconCache.hitCount());
+    }
+
+    @Test
+    public void trimMemoryEvictsIcons() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setAsyncIcons(false);
+        strip.setViewPager(iconPager());
+        assertTrue(TabIconCache.size() > 0);
+
+        TabIconCache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+        assertEquals(0, TabIconCache.size());
+    }
+
+    private ViewPager iconPager() {
+        ViewPager pager = new ViewPager(context);
+        pager.setAdapter(new TestPagers.IconAdapter(ICONS));
+        return pager;
+    }
+
+    private static ImageButton icon(PagerSlidingTabStrip strip, int position) {
+        return (ImageButton) ((ViewGroup) strip.getChildAt(0)).getChildAt(position);
+    }
+}
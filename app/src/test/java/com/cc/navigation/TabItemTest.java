@@ -0,0 +1,147 @@
+package com.cc.navigation;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Every tab view carries a {@link TabItem} telling its kind, so styling reaches the text of
+ * text, icon+text and custom tabs and skips icon tabs without casting views.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TabItemTest {
+
+    private static final int NORMAL = 0xFF111111;
+    private static final int SELECTED = 0xFFEE0000;
+
+    private Context context;
+    private ManualPagerSource source;
+    private SlidingTabStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        source = new ManualPagerSource();
+        source.setTabs(Arrays.asList("Text", "", "Both"),
+                new int[]{0, android.R.drawable.star_on, android.R.drawable.star_off});
+        strip = new SlidingTabStrip(context);
+        strip.setAsyncIcons(false);
+        strip.setPagerSource(source);
+    }
+
+    @Test
+    public void tabsAreTypedByTitleAndIcon() {
+        assertEquals(TabItem.KIND_TEXT, item(0).getKind());
+        assertEquals(TabItem.KIND_ICON, item(1).getKind());
+        assertNull(item(1).text);
+        assertEquals(TabItem.KIND_ICON_TEXT, item(2).getKind());
+        assertSame(item(2).view, item(2).text);
+    }
+
+    @Test
+    public void iconTabsAreSkippedBySelection() {
+        strip.setTextColor(NORMAL, SELECTED);
+
+        source.setCurrentItem(1);
+        source.setCurrentItem(2);
+
+        assertEquals(NORMAL, item(0).text.getCurrentTextColor());
+        assertEquals(SELECTED, item(2).text.getCurrentTextColor());
+    }
+
+    @Test
+    public void textTabTurnsIntoIconTextTabInPlace() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        activity.setContentView(strip);
+        View text = item(0).view;
+        source.setTabs(Arrays.asList("Text", "", "Both"),
+                new int[]{android.R.drawable.ic_menu_add, android.R.drawable.star_on, android.R.drawable.star_off});
+        strip.notifyDataSetChanged();
+        ShadowLooper.idleMainLooper();
+
+        assertSame(text, item(0).view);
+        assertEquals(TabItem.KIND_ICON_TEXT, item(0).getKind());
+    }
+
+    @Test
+    public void customTabsAreStyledThroughTheirText() {
+        CustomSource custom = new CustomSource();
+        custom.setTabs(Arrays.asList("A", "B", "C"), null);
+        SlidingTabStrip customStrip = new SlidingTabStrip(context);
+        customStrip.setTextColor(NORMAL, SELECTED);
+        customStrip.setPagerSource(custom);
+
+        TabItem tab = TabItem.of(((ViewGroup) customStrip.getChildAt(0)).getChildAt(1));
+        assertEquals(TabItem.KIND_CUSTOM, tab.getKind());
+        assertEquals("B", tab.text.getText().toString());
+        assertEquals(NORMAL, tab.text.getCurrentTextColor());
+
+        tab.view.performClick();
+
+        assertEquals(1, custom.getCurrentItem());
+        assertEquals(SELECTED, tab.text.getCurrentTextColor());
+    }
+
+    @Test
+    public void customTabsKeepTheirOwnTag() {
+        CustomSource custom = new CustomSource();
+        custom.setTabs(Arrays.asList("A", "B", "C"), null);
+        SlidingTabStrip customStrip = new SlidingTabStrip(context);
+        customStrip.setPagerSource(custom);
+        View tab = ((ViewGroup) customStrip.getChildAt(0)).getChildAt(1);
+
+        // rebinding the kept tab hands it back to bindTabView
+        customStrip.setPagerSource(custom);
+
+        assertSame(tab, ((ViewGroup) customStrip.getChildAt(0)).getChildAt(1));
+        assertSame(tab.findViewById(android.R.id.text1), tab.getTag());
+        assertEquals("B", ((TextView) tab.getTag()).getText().toString());
+        tab.performClick();
+        assertEquals(1, custom.getCurrentItem());
+    }
+
+    private TabItem item(int position) {
+        return TabItem.of(((ViewGroup) strip.getChildAt(0)).getChildAt(position));
+    }
+
+    private static class CustomSource extends ManualPagerSource implements TabPagerSource.CustomTabs {
+
+        @Override
+        public boolean isCustomTab(int position) {
+            return true;
+        }
+
+        @Override
+        public View createTabView(ViewGroup parent) {
+            FrameLayout tab = new FrameLayout(parent.getContext());
+            TextView text = new TextView(parent.getContext());
+            text.setId(android.R.id.text1);
+            tab.addView(text);
+            // apps keep their view holder in the tag
+            tab.setTag(text);
+            return tab;
+        }
+
+        @Override
+        public void bindTabView(View tab, int position) {
+            ((TextView) tab.getTag()).setText(getPageTitle(position));
+        }
+    }
+}
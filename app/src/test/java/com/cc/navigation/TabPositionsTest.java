@@ -0,0 +1,77 @@
+package com.cc.navigation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TabPositionsTest {
+
+    private static final float DELTA = 0.001f;
+
+    private TabPositions positions;
+
+    @Before
+    public void setUp() {
+        positions = new TabPositions();
+        positions.setCount(4);
+        positions.setWidth(0, 10);
+        positions.setWidth(1, 20);
+        positions.setWidth(2, 30);
+        positions.setWidth(3, 40);
+        positions.rebuild();
+    }
+
+    @Test
+    public void leftsAreRunningSums() {
+        assertEquals(0, positions.getLeft(0), DELTA);
+        assertEquals(30, positions.getLeft(2), DELTA);
+        assertEquals(60, positions.getRight(2), DELTA);
+        assertEquals(100, positions.getTotalWidth(), DELTA);
+    }
+
+    @Test
+    public void centersAndOriginAreApplied() {
+        positions.setOrigin(12.5f);
+        assertEquals(17.5f, positions.getCenter(0), DELTA);
+        assertEquals(57.5f, positions.getCenter(2), DELTA);
+        assertEquals(42.5f, positions.getLeft(2), DELTA);
+        assertEquals(30, positions.getOffset(2), DELTA);
+    }
+
+    @Test
+    public void rtlTabsRunLeftFromTheOrigin() {
+        positions.setRtl(true);
+        positions.setOrigin(100);
+        assertEquals(90, positions.getLeft(0), DELTA);
+        assertEquals(100, positions.getRight(0), DELTA);
+        assertEquals(40, positions.getLeft(2), DELTA);
+        assertEquals(70, positions.getRight(2), DELTA);
+        assertEquals(55, positions.getCenter(2), DELTA);
+        assertEquals(30, positions.getOffset(2), DELTA);
+    }
+
+    @Test
+    public void growingKeepsExistingWidths() {
+        positions.setCount(6);
+        assertEquals(100, positions.getLeft(4), DELTA);
+        assertEquals(0, positions.getWidth(5), DELTA);
+        positions.setWidth(4, 5);
+        positions.rebuild();
+        assertEquals(105, positions.getTotalWidth(), DELTA);
+    }
+
+    @Test
+    public void indexAtFindsTabUnderX() {
+        assertEquals(0, positions.indexAt(0));
+        assertEquals(0, positions.indexAt(9));
+        assertEquals(1, positions.indexAt(10));
+        assertEquals(3, positions.indexAt(99));
+    }
+
+    @Test
+    public void indexAtClampsOutsideStrip() {
+        assertEquals(0, positions.indexAt(-50));
+        assertEquals(3, positions.indexAt(500));
+    }
+}
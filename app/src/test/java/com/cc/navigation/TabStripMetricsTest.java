@@ -0,0 +1,60 @@
+package com.cc.navigation;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Metrics are off by default and, once on, count every timed section and frame.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TabStripMetricsTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void offByDefault() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(5)));
+
+        assertNull(strip.getMetrics());
+    }
+
+    @Test
+    public void countsSectionsTabsAndInvalidations() {
+        PagerSlidingTabStrip2 strip = new TestPagers.CountingStrip2(context);
+        strip.setMetricsEnabled(true);
+        strip.setViewPager(TestPagers.viewPager2(context, TestPagers.titles(12)));
+        TestPagers.layout(strip);
+        TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+        for (int i = 0; i < 10; i++) {
+            strip.pageListener.onPageScrolled(0, i / 10f + 0.05f, 0);
+            strip.applyPendingScroll();
+            strip.onDraw(canvas);
+        }
+
+        TabStripMetrics snapshot = new TabStripMetrics();
+        strip.getMetrics().snapshot(snapshot);
+        strip.getMetrics().reset();
+
+        assertEquals(1, snapshot.getHistogram(TabStripMetrics.SECTION_REBUILD).getCount());
+        assertEquals(1, snapshot.getHistogram(TabStripMetrics.SECTION_RESTYLE).getCount());
+        assertEquals(10, snapshot.getHistogram(TabStripMetrics.SECTION_SCROLL).getCount());
+        assertEquals(10, snapshot.getHistogram(TabStripMetrics.SECTION_DRAW).getCount());
+        assertEquals(12, snapshot.getTabsBound());
+        assertEquals(10, snapshot.getInvalidations());
+        assertEquals(0, strip.getMetrics().getInvalidations());
+    }
+}
@@ -0,0 +1,83 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Selection changes restyle only the previously and newly selected tabs.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TabStyleTest {
+
+    private static final int NORMAL = 0xFF111111;
+    private static final int SELECTED = 0xFFEE0000;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void selectionMovesSelectedStyle() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        TestPagers.attach(strip);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(10)));
+        strip.setTextColor(NORMAL, SELECTED);
+
+        assertEquals(SELECTED, tab(strip, 0).getCurrentTextColor());
+        assertEquals(NORMAL, tab(strip, 3).getCurrentTextColor());
+
+        strip.pageListener.onPageSelected(3);
+
+        assertEquals(NORMAL, tab(strip, 0).getCurrentTextColor());
+        assertEquals(SELECTED, tab(strip, 3).getCurrentTextColor());
+    }
+
+    @Test
+    public void selectionLeavesOtherTabsLaidOut() {
+        PagerSlidingTabStrip2 strip = new PagerSlidingTabStrip2(context);
+        TestPagers.attach(strip);
+        strip.setViewPager(TestPagers.viewPager2(context, TestPagers.titles(10)));
+        strip.setTextColor(NORMAL, SELECTED);
+        TestPagers.layout(strip);
+
+        strip.pageListener.onPageSelected(5);
+
+        assertEquals(NORMAL, tab(strip, 0).getCurrentTextColor());
+        assertEquals(SELECTED, tab(strip, 5).getCurrentTextColor());
+        for (int i = 0; i < 10; i++) {
+            if (i != 0 && i != 5) {
+                assertFalse("tab " + i + " was restyled", tab(strip, i).isLayoutRequested());
+            }
+        }
+    }
+
+    @Test
+    public void styleSetterRestylesEveryTab() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        TestPagers.attach(strip);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(10)));
+
+        strip.setTextSize(40);
+
+        for (int i = 1; i < 10; i++) {
+            assertEquals(40f, tab(strip, i).getTextSize(), 0f);
+        }
+    }
+
+    static TextView tab(ViewGroup strip, int position) {
+        return (TextView) ((ViewGroup) strip.getChildAt(0)).getChildAt(position);
+    }
+}
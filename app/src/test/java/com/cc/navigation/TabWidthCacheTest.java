@@ -0,0 +1,55 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Typeface;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Text widths are measured once per title and style, then read from the cache.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TabWidthCacheTest {
+
+    private static final int TABS = 500;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        TabWidthCache.clear();
+    }
+
+    @Test
+    public void sameTitleAndStyleIsMeasuredOnce() {
+        int width = TabWidthCache.measure("Tab", Typeface.DEFAULT, 40, 10);
+        int hits = TabWidthCache.hitCount();
+
+        assertEquals(width, TabWidthCache.measure("Tab", Typeface.DEFAULT, 40, 10));
+        assertEquals(hits + 1, TabWidthCache.hitCount());
+        assertTrue(TabWidthCache.measure("Tab", Typeface.DEFAULT, 40, 20) > width);
+        assertEquals(hits + 1, TabWidthCache.hitCount());
+    }
+
+    @Test
+    public void secondStripReusesMeasuredWidths() {
+        PagerSlidingTabStrip first = new PagerSlidingTabStrip(context);
+        first.setVirtualTabs(true);
+        first.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        int hits = TabWidthCache.hitCount();
+
+        PagerSlidingTabStrip second = new PagerSlidingTabStrip(context);
+        second.setVirtualTabs(true);
+        second.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+
+        assertTrue(TabWidthCache.hitCount() - hits >= TABS);
+    }
+}
@@ -0,0 +1,425 @@
+package com.cc.navigation;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager.widget.PagerAdapter;
+import androidx.viewpager.widget.ViewPager;
+import androidx.viewpager2.widget.ViewPager2;
+
+import org.robolectric.Robolectric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pagers, adapters and canvases shared by the strip tests.
+ */
+final class TestPagers {
+
+    static final int STRIP_WIDTH = 1080;
+    static final int STRIP_HEIGHT = 132;
+
+    private TestPagers() {
+    }
+
+    static String[] titles(int count) {
+        String[] titles = new String[count];
+        for (int i = 0; i < count; i++) {
+            titles[i] = "Tab " + i;
+        }
+        return titles;
+    }
+
+    static ViewPager viewPager(Context context, String[] titles) {
+        ViewPager pager = new ViewPager(context);
+        pager.setAdapter(new TitleAdapter(titles));
+        return pager;
+    }
+
+    static ViewPager2 viewPager2(Context context, String[] titles) {
+        ViewPager2 pager = new ViewPager2(context);
+        pager.setAdapter(new TitleAdapter2(titles));
+        return pager;
+    }
+
+    /**
+     * Shows the strip in an activity; style setters only restyle an attached strip right away.
+     */
+    static void attach(View strip) {
+        Robolectric.buildActivity(Activity.class).setup().get().setContentView(strip);
+    }
+
+    static void layout(View strip) {
+        strip.measure(View.MeasureSpec.makeMeasureSpec(STRIP_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(STRIP_HEIGHT, View.MeasureSpec.EXACTLY));
+        strip.layout(0, 0, STRIP_WIDTH, STRIP_HEIGHT);
+    }
+
+    static class TitleAdapter extends PagerAdapter {
+        String[] titles;
+
+        TitleAdapter(String[] titles) {
+            this.titles = titles;
+        }
+
+        @Override
+        public int getCount() {
+            return titles.length;
+        }
+
+        @Override
+        public boolean isViewFromObject(View view, Object object) {
+            return view == object;
+        }
+
+        @Override
+        public CharSequence getPageTitle(int position) {
+            return titles[position];
+        }
+    }
+
+    static class IconAdapter extends TitleAdapter implements PagerSlidingTabStrip.IconTabProvider {
+        int[] icons;
+
+        IconAdapter(int[] icons) {
+            super(new String[icons.length]);
+            this.icons = icons;
+        }
+
+        @Override
+        public int getPageIconResId(int position) {
+            return icons[position];
+        }
+    }
+
+    static class TitleAdapter2 extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+            implements PagerSlidingTabStrip2.TextTabProvider {
+        String[] titles;
+
+        TitleAdapter2(String[] titles) {
+            this.titles = titles;
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return titles.length;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public String getPageTitle(int position) {
+            return titles[position];
+        }
+    }
+
+    /**
+     * What a counting strip has done so far, for tests that run against both strip types.
+     */
+    interface Counting {
+        int invalidations();
+
+        int scrolls();
+
+        int layouts();
+
+        /**
+         * Robolectric's own allocations while scrolling the strip.
+         */
+        AllocationGuard.Exclusion scrollShadow();
+    }
+
+    /**
+     * Manual source standing in for a pager that can be fake dragged: a drag moves its
+     * position by pixels over {@link #PAGE_SIZE} wide pages and reports it right away, jumps
+     * and releases are recorded.
+     */
+    static class DraggableSource extends ManualPagerSource implements TabPagerSource.Draggable {
+        static final int PAGE_SIZE = 1000;
+
+        final List<Integer> jumps = new ArrayList<>();
+        final List<Float> releases = new ArrayList<>();
+        int pageSize = PAGE_SIZE;
+        float position;
+        float minDraggedPosition = Float.MAX_VALUE;
+        private boolean dragging;
+
+        DraggableSource(int count) {
+            setTabs(Arrays.asList(titles(count)), null);
+        }
+
+        @Override
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        @Override
+        public void setCurrentItem(int position, boolean smoothScroll) {
+            jumps.add(position);
+            this.position = position;
+            setCurrentItem(position);
+        }
+
+        @Override
+        public boolean beginFakeDrag() {
+            dragging = true;
+            return true;
+        }
+
+        @Override
+        public void fakeDragBy(float offset) {
+            position -= offset / pageSize;
+            minDraggedPosition = Math.min(minDraggedPosition, position);
+            int page = (int) Math.floor(position);
+            onPageScrolled(page, position - page);
+        }
+
+        @Override
+        public void endFakeDrag() {
+            dragging = false;
+            releases.add(position);
+            // the pager settles on the nearest page
+            position = Math.round(position);
+            setCurrentItem((int) position);
+        }
+
+        @Override
+        public boolean isFakeDragging() {
+            return dragging;
+        }
+    }
+
+    /**
+     * Bytes allocated inside {@code View.scrollTo}, whose Robolectric shadow looks fields and
+     * methods up reflectively on every move; the framework method does not allocate. What the
+     * strip itself does in {@code onScrollChanged} still counts against it.
+     */
+    static final class ScrollShadow implements AllocationGuard.Exclusion {
+        private long bytes;
+        private long scrollStart;
+        private long scrollChangedStart;
+        private long scrollChangedBytes;
+
+        void beginScroll() {
+            scrollChangedBytes = 0;
+            scrollStart = AllocationGuard.threadAllocatedBytes();
+        }
+
+        void endScroll() {
+            bytes += AllocationGuard.threadAllocatedBytes() - scrollStart - scrollChangedBytes;
+        }
+
+        void beginScrollChanged() {
+            scrollChangedStart = AllocationGuard.threadAllocatedBytes();
+        }
+
+        void endScrollChanged() {
+            scrollChangedBytes += AllocationGuard.threadAllocatedBytes() - scrollChangedStart;
+        }
+
+        @Override
+        public long excludedBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Counts invalidations instead of forwarding them; Robolectric's own {@code invalidate()}
+     * allocates, which would hide what the strip itself does per frame.
+     */
+    static class CountingStrip extends PagerSlidingTabStrip implements Counting {
+        int invalidations;
+        /**
+         * Area of the last invalidation, empty for the whole strip.
+         */
+        final Rect dirty = new Rect();
+        int posts;
+        int scrolls;
+        int layouts;
+        final ScrollShadow scrollShadow = new ScrollShadow();
+
+        CountingStrip(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            invalidations++;
+            dirty.setEmpty();
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public void invalidate(int l, int t, int r, int b) {
+            invalidations++;
+            dirty.set(l, t, r, b);
+        }
+
+        @Override
+        public boolean post(Runnable action) {
+            posts++;
+            return super.post(action);
+        }
+
+        @Override
+        public void scrollTo(int x, int y) {
+            // HorizontalScrollView re-claims its position on every layout, only count moves
+            if (x != getScrollX() || y != getScrollY()) {
+                scrolls++;
+            }
+            scrollShadow.beginScroll();
+            super.scrollTo(x, y);
+            scrollShadow.endScroll();
+        }
+
+        @Override
+        protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+            scrollShadow.beginScrollChanged();
+            super.onScrollChanged(l, t, oldl, oldt);
+            scrollShadow.endScrollChanged();
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int l, int t, int r, int b) {
+            layouts++;
+            super.onLayout(changed, l, t, r, b);
+        }
+
+        @Override
+        public int invalidations() {
+            return invalidations;
+        }
+
+        @Override
+        public int scrolls() {
+            return scrolls;
+        }
+
+        @Override
+        public int layouts() {
+            return layouts;
+        }
+
+        @Override
+        public AllocationGuard.Exclusion scrollShadow() {
+            return scrollShadow;
+        }
+    }
+
+    static class CountingStrip2 extends PagerSlidingTabStrip2 implements Counting {
+        int invalidations;
+        final Rect dirty = new Rect();
+        int scrolls;
+        int layouts;
+        final ScrollShadow scrollShadow = new ScrollShadow();
+
+        CountingStrip2(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            invalidations++;
+            dirty.setEmpty();
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public void invalidate(int l, int t, int r, int b) {
+            invalidations++;
+            dirty.set(l, t, r, b);
+        }
+
+        @Override
+        public void scrollTo(int x, int y) {
+            // HorizontalScrollView re-claims its position on every layout, only count moves
+            if (x != getScrollX() || y != getScrollY()) {
+                scrolls++;
+            }
+            scrollShadow.beginScroll();
+            super.scrollTo(x, y);
+            scrollShadow.endScroll();
+        }
+
+        @Override
+        protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+            scrollShadow.beginScrollChanged();
+            super.onScrollChanged(l, t, oldl, oldt);
+            scrollShadow.endScrollChanged();
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int l, int t, int r, int b) {
+            layouts++;
+            super.onLayout(changed, l, t, r, b);
+        }
+
+        @Override
+        public int invalidations() {
+            return invalidations;
+        }
+
+        @Override
+        public int scrolls() {
+            return scrolls;
+        }
+
+        @Override
+        public int layouts() {
+            return layouts;
+        }
+
+        @Override
+        public AllocationGuard.Exclusion scrollShadow() {
+            return scrollShadow;
+        }
+    }
+
+    /**
+     * Records the indicator instead of rasterizing it.
+     */
+    static class IndicatorCanvas extends Canvas {
+        int indicatorDraws;
+        final RectF lastIndicator = new RectF();
+
+        @Override
+        public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+            indicatorDraws++;
+            lastIndicator.set(rect);
+        }
+    }
+
+    /**
+     * Also records the titles drawn by a strip in drawn tab mode.
+     */
+    static class TitleCanvas extends IndicatorCanvas {
+        final List<String> titles = new ArrayList<>();
+
+        @Override
+        public void drawText(String text, float x, float y, Paint paint) {
+            titles.add(text);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * With {@code blendTextColor} the current and next tab are recolored through shared color
+ * filters that follow the pager offset, the text color itself is never touched while swiping.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TextColorBlendTest {
+
+    private static final int NORMAL = 0xFF000000;
+    private static final int SELECTED = 0xFFFF8040;
+
+    private Context context;
+    private TestPagers.CountingStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        strip = new TestPagers.CountingStrip(context);
+        TestPagers.attach(strip);
+        strip.setBlendTextColor(true);
+        strip.setTextColor(NORMAL, SELECTED);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(10)));
+        TestPagers.layout(strip);
+    }
+
+    @Test
+    public void lerpBlendsEveryChannel() {
+        assertEquals(NORMAL, TextColorBlender.lerp(NORMAL, SELECTED, 0f));
+        assertEquals(SELECTED, TextColorBlender.lerp(NORMAL, SELECTED, 1f));
+        assertEquals(0xFF804020, TextColorBlender.lerp(NORMAL, SELECTED, 0.5f));
+        assertEquals(0x80FFFFFF, TextColorBlender.lerp(0x00FFFFFF, 0xFFFFFFFF, 0.5f));
+    }
+
+    @Test
+    public void currentAndNextTabFollowTheOffset() {
+        TextColorBlender blender = strip.textColorBlender;
+        assertSame(blender.getFilter(1f), filter(0));
+        assertSame(blender.getFilter(0f), filter(1));
+        assertEquals(0xFF804020, blender.getColor(0.5f));
+
+        strip.pageListener.onPageScrolled(0, 0.25f, 0);
+        strip.applyPendingScroll();
+
+        assertSame(blender.getFilter(0.75f), filter(0));
+        assertSame(blender.getFilter(0.25f), filter(1));
+        assertSame(blender.getFilter(0f), filter(2));
+
+        strip.pageListener.onPageScrolled(4, 0f, 0);
+        strip.applyPendingScroll();
+
+        assertSame(blender.getFilter(0f), filter(0));
+        assertSame(blender.getFilter(0f), filter(1));
+        assertSame(blender.getFilter(1f), filter(4));
+    }
+
+    @Test
+    public void swipingKeepsTheTextColorAndLayout() {
+        for (int i = 0; i < 10; i++) {
+            strip.pageListener.onPageScrolled(0, i / 10f, 0);
+            strip.applyPendingScroll();
+        }
+        strip.pageListener.onPageSelected(1);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Color.BLACK, tab(i).getCurrentTextColor());
+        }
+        assertFalse(strip.isLayoutRequested());
+    }
+
+    @Test
+    public void turningItOffRestoresColors() {
+        strip.setBlendTextColor(false);
+
+        assertNull(filter(0));
+        assertEquals(SELECTED, tab(0).getCurrentTextColor());
+        assertEquals(NORMAL, tab(1).getCurrentTextColor());
+    }
+
+    private TextView tab(int position) {
+        return TabStyleTest.tab(strip, position);
+    }
+
+    private Object filter(int position) {
+        return tab(position).getPaint().getColorFilter();
+    }
+}
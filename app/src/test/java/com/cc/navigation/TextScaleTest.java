@@ -0,0 +1,133 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * With {@code scaleSelectText} the selected size follows the pager offset as a draw-time
+ * scale of the glyphs, every tab keeps the larger text size and nothing is laid out again.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TextScaleTest {
+
+    private static final int NORMAL_SIZE = 30;
+    private static final int SELECTED_SIZE = 60;
+    private static final float DELTA = 0.001f;
+
+    private Context context;
+    private TestPagers.CountingStrip strip;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        strip = new TestPagers.CountingStrip(context);
+        TestPagers.attach(strip);
+        strip.setScaleSelectText(true);
+        strip.setTextSize(NORMAL_SIZE);
+        strip.setSelectTextSize(SELECTED_SIZE);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(10)));
+        TestPagers.layout(strip);
+    }
+
+    @Test
+    public void tabsAreLaidOutAtTheLargerSize() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(SELECTED_SIZE, TabStyleTest.tab(strip, i).getTextSize(), DELTA);
+        }
+        assertEquals(1f, scale(0), DELTA);
+        assertEquals(0.5f, scale(1), DELTA);
+    }
+
+    @Test
+    public void scaleFollowsTheOffsetWithoutLayout() {
+        int layouts = strip.layouts;
+
+        strip.pageListener.onPageScrolled(0, 0.5f, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(0.75f, scale(0), DELTA);
+        assertEquals(0.75f, scale(1), DELTA);
+        assertFalse(strip.isLayoutRequested());
+
+        strip.pageListener.onPageSelected(1);
+        strip.pageListener.onPageScrolled(1, 0f, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(0.5f, scale(0), DELTA);
+        assertEquals(1f, scale(1), DELTA);
+        assertFalse(strip.isLayoutRequested());
+        assertEquals(layouts, strip.layouts);
+    }
+
+    @Test
+    public void jumpRestoresPreviouslyScaledTabs() {
+        strip.pageListener.onPageScrolled(2, 0.25f, 0);
+        strip.applyPendingScroll();
+        strip.pageListener.onPageScrolled(6, 0f, 0);
+        strip.applyPendingScroll();
+
+        assertEquals(0.5f, scale(2), DELTA);
+        assertEquals(0.5f, scale(3), DELTA);
+        assertEquals(1f, scale(6), DELTA);
+    }
+
+    @Test
+    public void onlyTheGlyphsAreScaled() {
+        strip.setTabBackground(android.R.drawable.btn_default);
+        TestPagers.layout(strip);
+        TextView tab = TabStyleTest.tab(strip, 1);
+        SizeCanvas canvas = new SizeCanvas(tab);
+
+        ((TabTextView) tab).onDraw(canvas);
+
+        assertEquals(1f, tab.getScaleX(), 0f);
+        assertEquals(1f, tab.getScaleY(), 0f);
+        assertNotNull(tab.getBackground());
+        assertEquals(NORMAL_SIZE, canvas.textSize, DELTA);
+        assertEquals(SELECTED_SIZE, tab.getTextSize(), DELTA);
+        assertFalse(tab.isLayoutRequested());
+    }
+
+    @Test
+    public void turningItOffRestoresSizes() {
+        strip.setScaleSelectText(false);
+
+        assertEquals(SELECTED_SIZE, TabStyleTest.tab(strip, 0).getTextSize(), DELTA);
+        assertEquals(NORMAL_SIZE, TabStyleTest.tab(strip, 1).getTextSize(), DELTA);
+        assertEquals(1f, scale(1), DELTA);
+    }
+
+    private float scale(int position) {
+        return ((TabTextView) TabStyleTest.tab(strip, position)).getTextScale();
+    }
+
+    /**
+     * Records the size of the tab's paint when TextView clips the canvas to draw its text, the
+     * text itself is not drawn without real fonts.
+     */
+    private static class SizeCanvas extends Canvas {
+        private final TextView tab;
+        float textSize;
+
+        SizeCanvas(TextView tab) {
+            this.tab = tab;
+        }
+
+        @Override
+        public boolean clipRect(float left, float top, float right, float bottom) {
+            textSize = tab.getPaint().getTextSize();
+            return true;
+        }
+    }
+}
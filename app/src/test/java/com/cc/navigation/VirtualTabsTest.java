@@ -0,0 +1,152 @@
+package com.cc.navigation;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Virtual mode binds only the tabs around the viewport but keeps every tab's position.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class VirtualTabsTest {
+
+    private static final int TABS = 3000;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void bindsOnlyTheVisibleWindow() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setVirtualTabs(true);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        assertTrue("bound " + container.getChildCount(), container.getChildCount() < 60);
+        assertEquals("Tab 0", ((TextView) container.getChildAt(1)).getText().toString());
+    }
+
+    @Test
+    public void keepsFullScrollWidth() {
+        PagerSlidingTabStrip2 strip = new PagerSlidingTabStrip2(context);
+        strip.setVirtualTabs(true);
+        strip.setViewPager(TestPagers.viewPager2(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        View trailing = container.getChildAt(container.getChildCount() - 1);
+        assertTrue(trailing.getRight() > TestPagers.STRIP_WIDTH * 10);
+    }
+
+    @Test
+    public void scrollingRebindsTabsForTheNewWindow() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setVirtualTabs(true);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+
+        strip.pageListener.onPageScrolled(2000, 0f, 0);
+        strip.applyPendingScroll();
+        TestPagers.layout(strip);
+
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        assertTrue("bound " + container.getChildCount(), container.getChildCount() < 60);
+        boolean found = false;
+        for (int i = 1; i < container.getChildCount() - 1; i++) {
+            if ("Tab 2000".contentEquals(((TextView) container.getChildAt(i)).getText())) {
+                found = true;
+                // the bound tab sits where the position table says it does
+                assertEquals(strip.getScrollX() + strip.getScrollOffset(), container.getChildAt(i).getLeft());
+            }
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void scrollingMovesOnlyTheTabsLeavingTheWindow() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setVirtualTabs(true);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        final List<View> removed = new ArrayList<>();
+        container.setOnHierarchyChangeListener(new ViewGroup.OnHierarchyChangeListener() {
+            @Override
+            public void onChildViewAdded(View parent, View child) {
+            }
+
+            @Override
+            public void onChildViewRemoved(View parent, View child) {
+                removed.add(child);
+            }
+        });
+        View leading = container.getChildAt(0);
+        View kept = container.getChildAt(20);
+
+        strip.scrollTo(100, 0);
+
+        assertTrue("removed " + removed.size(), removed.size() > 0 && removed.size() < 10);
+        assertFalse(removed.contains(kept));
+        assertFalse(removed.contains(leading));
+        assertSame(container, kept.getParent());
+        assertSame(leading, container.getChildAt(0));
+    }
+
+    @Test
+    public void scrollClampedDuringLayoutMovesTheWindowInPlace() {
+        PagerSlidingTabStrip strip = new PagerSlidingTabStrip(context);
+        strip.setVirtualTabs(true);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+        ViewGroup container = (ViewGroup) strip.getChildAt(0);
+        strip.scrollTo(container.getWidth(), 0);
+
+        // a wider strip has less to scroll, HorizontalScrollView clamps the scroll in onLayout
+        int width = TestPagers.STRIP_WIDTH * 2;
+        strip.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(TestPagers.STRIP_HEIGHT, View.MeasureSpec.EXACTLY));
+        strip.layout(0, 0, width, TestPagers.STRIP_HEIGHT);
+
+        assertEquals(container.getWidth() - width, strip.getScrollX());
+        assertFalse(container.isLayoutRequested());
+        View firstBound = container.getChildAt(1);
+        assertTrue(firstBound.getWidth() > 0);
+        assertTrue(firstBound.getLeft() <= strip.getScrollX());
+    }
+
+    @Test
+    public void drawsIndicatorUnderOffscreenTab() {
+        PagerSlidingTabStrip strip = new TestPagers.CountingStrip(context);
+        strip.setVirtualTabs(true);
+        strip.setViewPager(TestPagers.viewPager(context, TestPagers.titles(TABS)));
+        TestPagers.layout(strip);
+
+        strip.pageListener.onPageScrolled(2500, 0.5f, 0);
+        strip.applyPendingScroll();
+        TestPagers.IndicatorCanvas canvas = new TestPagers.IndicatorCanvas();
+        strip.onDraw(canvas);
+
+        assertEquals(1, canvas.indicatorDraws);
+        assertTrue(canvas.lastIndicator.left > TestPagers.STRIP_WIDTH * 10);
+    }
+}
@@ -0,0 +1,78 @@
+package com.cc.navigation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of one indicator frame, i.e. what {@code onDraw} spends on geometry per scroll step.
+ * <p>
+ * Each invocation advances the pager by one frame of {@link #frames} per page, walking
+ * across all tabs so every branch of the flex curve is hit.
+ */
+@State(Scope.Thread)
+public class IndicatorGeometryBenchmark {
+
+    @Param({"3", "40", "1000"})
+    public int tabCount;
+
+    @Param({"16", "60"})
+    public int frames;
+
+    @Param({"linear", "flex", "expand"})
+    public String mode;
+
+    private float[] lefts;
+    private float[] rights;
+    private IndicatorGeometry geometry;
+
+    private int position;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        lefts = new float[tabCount];
+        rights = new float[tabCount];
+        float x = 0;
+        for (int i = 0; i < tabCount; i++) {
+            // tab widths vary like real titles do
+            float width = 80 + (i * 37) % 60;
+            lefts[i] = x;
+            rights[i] = x + width;
+            x += width;
+        }
+
+        geometry = new IndicatorGeometry();
+        geometry.setTabPadding(16);
+        if ("flex".equals(mode)) {
+            geometry.setIndicatorWidth(25);
+            geometry.setDividerNeedFlex(true);
+        } else if ("expand".equals(mode)) {
+            geometry.setDividerExpand(true);
+        } else {
+            geometry.setIndicatorWidth(25);
+        }
+    }
+
+    @Benchmark
+    public float frame() {
+        float offset = (float) frame / frames;
+        if (position < tabCount - 1) {
+            geometry.compute(lefts[position], rights[position],
+                    lefts[position + 1], rights[position + 1], offset);
+        } else {
+            geometry.compute(lefts[position], rights[position]);
+        }
+
+        if (++frame == frames) {
+            frame = 0;
+            if (++position == tabCount) {
+                position = 0;
+            }
+        }
+        return geometry.getLeft() + geometry.getRight();
+    }
+
+}